@@ -15,6 +15,7 @@ plugins {
     id("io.spring.dependency-management") version "1.1.7"
     id("org.asciidoctor.jvm.convert") version "3.3.2"
     id("com.epages.restdocs-api-spec") version "0.18.2"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.example"
@@ -55,6 +56,8 @@ val snippetsDir by extra { file("build/generated-snippets") }
 
 dependencies {
     implementation("org.springframework.boot:spring-boot-starter-web")
+    // reactive 프로필에서 채팅 API를 Netty 위에서 띄울 때 쓴다
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     compileOnly("org.projectlombok:lombok")
     developmentOnly("org.springframework.boot:spring-boot-devtools")
@@ -64,12 +67,15 @@ dependencies {
     runtimeOnly("com.h2database:h2") // CI 환경에서 사용
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     implementation("org.springframework.boot:spring-boot-starter-security")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
     implementation("io.jsonwebtoken:jjwt-api:0.11.5")
     runtimeOnly("io.jsonwebtoken:jjwt-impl:0.11.5")
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.11.5")
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.7.0") // springdoc-openapi
     testImplementation("org.springframework.restdocs:spring-restdocs-mockmvc")
     testImplementation("com.epages:restdocs-api-spec-mockmvc:0.18.2")
+    jmh("org.springframework:spring-test") // 필터 벤치마크의 MockHttpServletRequest
 }
 
 tasks.withType<Test> {
@@ -92,6 +98,14 @@ tasks.bootJar {
     }
 }
 
+jmh {
+    // ./gradlew jmh -PjmhIncludes=PathTrieBenchmark 처럼 특정 벤치마크만 실행할 수 있다
+    includes = listOfNotNull(findProperty("jmhIncludes")?.toString())
+    // -PjmhProfilers=gc 로 연산당 할당량(gc.alloc.rate.norm)을 함께 잰다
+    profilers = listOfNotNull(findProperty("jmhProfilers")?.toString())
+    resultFormat = "JSON"
+}
+
 openapi3 {
     title = "My API"
     description = "My API description"
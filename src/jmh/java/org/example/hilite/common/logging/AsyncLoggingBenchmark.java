@@ -0,0 +1,125 @@
+package org.example.hilite.common.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 요청 스레드 여러 개가 INFO 로그를 남길 때 로그 호출 한 번의 지연 분포. 동기 콘솔 출력과 prod 프로필의 비동기 큐를 비교한다.
+ *
+ * <p>writeDelayMicros는 stdout을 읽는 쪽이 밀려 쓰기 한 번이 막히는 시간을 흉내 낸다. SampleTime 결과의 p0.99, p0.999가 꼬리
+ * 지연이다. 비동기 쪽은 큐가 차면 INFO를 버리므로 지연이 낮은 대신 로그 일부를 잃는다. 두 방식 모두 같은 패턴 인코더를 써서 출력 경로만 다르게
+ * 한다.
+ *
+ * <p>아직 돌려 본 결과는 없다. prod 설정을 바꿀 때는 ./gradlew jmh -PjmhIncludes=AsyncLoggingBenchmark로 두 방식의 꼬리
+ * 지연을 먼저 비교한다.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncLoggingBenchmark {
+
+  @Param({"sync", "async"})
+  private String pipeline;
+
+  @Param({"0", "50"})
+  private long writeDelayMicros;
+
+  private LoggerContext context;
+  private Logger logger;
+
+  @Setup
+  public void setUp() {
+    context = new LoggerContext();
+
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(context);
+    encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n");
+    encoder.start();
+
+    OutputStreamAppender<ILoggingEvent> output = new OutputStreamAppender<>();
+    output.setContext(context);
+    output.setEncoder(encoder);
+    output.setOutputStream(new SlowOutputStream(TimeUnit.MICROSECONDS.toNanos(writeDelayMicros)));
+    output.start();
+
+    Appender<ILoggingEvent> appender = output;
+    if (pipeline.equals("async")) {
+      // logback-spring.xml의 prod 설정과 같은 값
+      AsyncAppender async = new AsyncAppender();
+      async.setContext(context);
+      async.setQueueSize(8192);
+      async.setDiscardingThreshold(1024);
+      async.setNeverBlock(true);
+      async.addAppender(output);
+      async.start();
+      appender = async;
+    }
+
+    Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+    root.setLevel(Level.INFO);
+    root.addAppender(appender);
+    logger = context.getLogger("org.example.hilite.service.ChatBotService");
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.stop();
+  }
+
+  @Benchmark
+  public void logInfo() {
+    logger.info("Processing chat for message: {}", "안녕하세요, 도움이 필요해요");
+  }
+
+  /** 받은 바이트는 버리고 쓰기 한 번마다 delayNanos 동안 막힌다 */
+  private static final class SlowOutputStream extends OutputStream {
+
+    private final long delayNanos;
+
+    private SlowOutputStream(long delayNanos) {
+      this.delayNanos = delayNanos;
+    }
+
+    @Override
+    public void write(int b) {
+      block();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      block();
+    }
+
+    private void block() {
+      if (delayNanos > 0) {
+        LockSupport.parkNanos(delayNanos);
+      }
+    }
+  }
+}
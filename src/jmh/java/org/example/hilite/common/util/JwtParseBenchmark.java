@@ -0,0 +1,61 @@
+package org.example.hilite.common.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 요청마다 파서를 만들던 기존 방식, 미리 만든 파서, 검증된 토큰 캐시의 토큰 한 건 처리 비용 비교 */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParseBenchmark {
+
+  private static final String SECRET =
+      "benchmark-jwt-secret-benchmark-jwt-secret-benchmark-jwt-secret-benchmark";
+
+  private Key key;
+  private JwtParser parser;
+  private JwtUtil jwtUtil;
+  private String token;
+
+  @Setup
+  public void setUp() {
+    key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    parser = Jwts.parserBuilder().setSigningKey(key).build();
+    jwtUtil = new JwtUtil(SECRET, false, new TokenVersionStore(), 10_000);
+    token = jwtUtil.generateToken("benchmark-user");
+  }
+
+  // 변경 전 JwtUtil.validateAndGetUsername 구현
+  @Benchmark
+  public Claims parserPerRequest() {
+    return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+  }
+
+  @Benchmark
+  public Claims sharedParser() {
+    return parser.parseClaimsJws(token).getBody();
+  }
+
+  @Benchmark
+  public Claims cachedToken() {
+    return jwtUtil.parseClaims(token);
+  }
+}
@@ -0,0 +1,50 @@
+package org.example.hilite.common.util;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 로그인 제한이 거절 여부를 판단하는 비용. 기본 설정과 같은 크기의 sketch에 실패를 채워 두고 여러 스레드가 같은 아이디를 조회하고 더한다.
+ *
+ * <p>거절 경로는 estimate 한 번이므로 회원 조회나 BCrypt 해시(수십~수백 ms)와 비교하면 된다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class SlidingWindowSketchBenchmark {
+
+  private SlidingWindowSketch sketch;
+
+  @Setup
+  public void setUp() {
+    sketch = new SlidingWindowSketch(Duration.ofMinutes(10), 10, 4, 16384);
+    for (int i = 0; i < 100_000; i++) {
+      sketch.increment("user" + i);
+    }
+  }
+
+  @Benchmark
+  public int estimate() {
+    return sketch.estimate("attacked-user");
+  }
+
+  @Benchmark
+  public void increment() {
+    sketch.increment("attacked-user");
+  }
+}
@@ -0,0 +1,171 @@
+package org.example.hilite.filter;
+
+import ch.qos.logback.classic.Level;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.example.hilite.common.util.JwtUtil;
+import org.example.hilite.common.util.TokenVersionStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 인증에 성공하는 요청 한 건을 기존 JwtFilter와 현재 {@link JwtFilter}로 처리하는 비용 비교.
+ *
+ * <p>연산당 할당량은 {@code ./gradlew jmh -PjmhIncludes=JwtFilterBenchmark -PjmhProfilers=gc}의
+ * gc.alloc.rate.norm으로 본다. 콘솔 출력 비용은 빼고 필터가 만드는 객체만 비교하도록 로그 레벨을 WARN으로 올려 둔다. 요청 객체와 사용자
+ * 캐시는 양쪽이 같은 것을 쓴다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+  private static final String SECRET =
+      "benchmark-jwt-secret-benchmark-jwt-secret-benchmark-jwt-secret-benchmark";
+  private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+  @Param({"false", "true"})
+  private boolean stateless;
+
+  private OncePerRequestFilter previousFilter;
+  private OncePerRequestFilter currentFilter;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @Setup
+  public void setUp() {
+    ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME))
+        .setLevel(Level.WARN);
+
+    UserDetails user =
+        User.withUsername("benchmark-user").password("unused").roles("USER").build();
+    // 사용자 캐시에 이미 올라온 회원을 돌려주는 것과 같다
+    UserDetailsService userDetailsService = username -> user;
+    JwtUtil jwtUtil = new JwtUtil(SECRET, stateless, new TokenVersionStore(), 10_000);
+
+    previousFilter = new PreviousJwtFilter(jwtUtil, userDetailsService);
+    currentFilter = new JwtFilter(jwtUtil, userDetailsService);
+    request = new MockHttpServletRequest("GET", "/member/info");
+    request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(user));
+    response = new MockHttpServletResponse();
+  }
+
+  @Benchmark
+  public void previous() throws ServletException, IOException {
+    previousFilter.doFilter(request, response, NO_OP_CHAIN);
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  public void current() throws ServletException, IOException {
+    currentFilter.doFilter(request, response, NO_OP_CHAIN);
+    SecurityContextHolder.clearContext();
+  }
+
+  /** 변경 전 JwtFilter 구현 */
+  private static final class PreviousJwtFilter extends OncePerRequestFilter {
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+
+    private PreviousJwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+      this.jwtUtil = jwtUtil;
+      this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+        throws ServletException, IOException {
+
+      logger.info("=== JWT FILTER STARTED ===");
+      String header = request.getHeader("Authorization");
+      logger.info("Request URI: " + request.getRequestURI());
+      logger.info("Authorization Header: " + header);
+
+      if (header != null && header.startsWith("Bearer ")) {
+        String token = header.substring(7);
+        try {
+          Claims claims = jwtUtil.parseClaims(token);
+          String username = claims.getSubject();
+          if (username != null
+              && SecurityContextHolder.getContext().getAuthentication() == null) {
+            List<String> roles = jwtUtil.isStateless() ? jwtUtil.getRoles(claims) : null;
+
+            UsernamePasswordAuthenticationToken auth =
+                roles != null ? fromClaims(username, roles) : fromUserDetails(username);
+            auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(auth);
+          }
+        } catch (JwtException e) {
+          logger.warn("JWT authentication failed: {}", e);
+          response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+          response.setContentType("application/json");
+          response
+              .getWriter()
+              .write(
+                  new ObjectMapper()
+                      .writeValueAsString(
+                          Map.of(
+                              "status",
+                              401,
+                              "error",
+                              "UNAUTHORIZED",
+                              "message",
+                              "Invalid or expired JWT token",
+                              "path",
+                              request.getRequestURI())));
+          return;
+        }
+      }
+
+      logger.info("=== JWT FILTER ENDING ===");
+      chain.doFilter(request, response);
+    }
+
+    private UsernamePasswordAuthenticationToken fromClaims(String username, List<String> roles) {
+      List<SimpleGrantedAuthority> authorities =
+          roles.stream().map(SimpleGrantedAuthority::new).toList();
+      return new UsernamePasswordAuthenticationToken(username, null, authorities);
+    }
+
+    private UsernamePasswordAuthenticationToken fromUserDetails(String username) {
+      UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+      return new UsernamePasswordAuthenticationToken(
+          userDetails, null, userDetails.getAuthorities());
+    }
+  }
+}
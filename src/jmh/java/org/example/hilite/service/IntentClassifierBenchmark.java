@@ -0,0 +1,90 @@
+package org.example.hilite.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 기존 toLowerCase + contains 체인과 {@link AhoCorasickIntentClassifier} 분류 비용 비교 */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntentClassifierBenchmark {
+
+  @Param({"3", "100", "10000"})
+  private int keywordCount;
+
+  private List<String> keywords;
+  private List<String> keywordIntents;
+  private AhoCorasickIntentClassifier classifier;
+  private String hitMessage;
+  private String missMessage;
+
+  @Setup
+  public void setUp() {
+    Map<String, List<String>> table = new LinkedHashMap<>();
+    keywords = new ArrayList<>(keywordCount);
+    keywordIntents = new ArrayList<>(keywordCount);
+    String[] base = {"안녕", "hello", "도움"};
+    for (int i = 0; i < keywordCount; i++) {
+      // 처음 세 개는 실제 키워드, 나머지는 서로 겹치지 않는 합성 키워드
+      String keyword = i < base.length ? base[i] : String.format("keyword%05d", i);
+      String intent = "intent" + (i % 10);
+      keywords.add(keyword);
+      keywordIntents.add(intent);
+      table.computeIfAbsent(intent, k -> new ArrayList<>()).add(keyword);
+    }
+    classifier = AhoCorasickIntentClassifier.compile(table);
+
+    // contains 체인의 최악에 가깝도록 마지막 키워드가 문장 끝에 나오게 한다
+    String last = keywords.get(keywordCount - 1);
+    hitMessage = "Could you tell me more about how this service works, " + last.toUpperCase();
+    missMessage = "Could you tell me more about how this service works, please?";
+  }
+
+  @Benchmark
+  public String containsChainHit() {
+    return containsChain(hitMessage);
+  }
+
+  @Benchmark
+  public String containsChainMiss() {
+    return containsChain(missMessage);
+  }
+
+  @Benchmark
+  public String ahoCorasickHit() {
+    return classifier.classify(hitMessage);
+  }
+
+  @Benchmark
+  public String ahoCorasickMiss() {
+    return classifier.classify(missMessage);
+  }
+
+  // 변경 전 ChatBotService.generateResponse 방식
+  private String containsChain(String message) {
+    String lowerMessage = message.toLowerCase();
+    for (int i = 0; i < keywords.size(); i++) {
+      if (lowerMessage.contains(keywords.get(i))) {
+        return keywordIntents.get(i);
+      }
+    }
+    return null;
+  }
+}
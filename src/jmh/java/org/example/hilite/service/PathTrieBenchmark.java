@@ -0,0 +1,103 @@
+package org.example.hilite.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** 기존 선형 Ant 패턴 스캔과 {@link PathTrie} 조회 비용 비교 */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathTrieBenchmark {
+
+  private static final String ROLE = "ROLE_USER";
+
+  @Param({"10", "1000", "100000"})
+  private int patternCount;
+
+  private List<String> patterns;
+  private PathTrie trie;
+  private long[] roleMask;
+  private String hitPath;
+  private String missPath;
+
+  @Setup
+  public void setUp() {
+    patterns = new ArrayList<>(patternCount);
+    PathTrie.Builder builder = PathTrie.builder();
+    for (int i = 0; i < patternCount; i++) {
+      // 접두사 매칭이 다른 패턴에 걸리지 않도록 번호를 고정 폭으로 만든다
+      String base = String.format("/service%06d", i);
+      String pattern =
+          switch (i % 3) {
+            case 0 -> base + "/**";
+            case 1 -> base + "/items/*";
+            default -> base + "/detail";
+          };
+      patterns.add(pattern);
+      builder.add(pattern, ROLE);
+    }
+    trie = builder.build();
+    roleMask = trie.roleMask(List.of(ROLE));
+
+    // 선형 스캔의 최악에 가깝도록 마지막 "/**" 패턴에 걸리는 경로를 고른다
+    int lastAnyDepth = (patternCount - 1) - (patternCount - 1) % 3;
+    hitPath = String.format("/service%06d/orders/42", lastAnyDepth);
+    missPath = "/unknown/orders/42";
+  }
+
+  @Benchmark
+  public boolean linearHit() {
+    return linearMatches(hitPath);
+  }
+
+  @Benchmark
+  public boolean linearMiss() {
+    return linearMatches(missPath);
+  }
+
+  @Benchmark
+  public boolean trieHit() {
+    return trie.matches(hitPath, roleMask);
+  }
+
+  @Benchmark
+  public boolean trieMiss() {
+    return trie.matches(missPath, roleMask);
+  }
+
+  private boolean linearMatches(String path) {
+    for (String pattern : patterns) {
+      if (pathMatches(pattern, path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // 변경 전 DynamicPermissionService.pathMatches 구현
+  private static boolean pathMatches(String pattern, String path) {
+    if (pattern.endsWith("/**")) {
+      String prefix = pattern.substring(0, pattern.length() - 3);
+      return path.startsWith(prefix);
+    } else if (pattern.endsWith("/*")) {
+      String prefix = pattern.substring(0, pattern.length() - 2);
+      return path.startsWith(prefix) && !path.substring(prefix.length()).contains("/");
+    }
+    return pattern.equals(path);
+  }
+}
@@ -0,0 +1,9 @@
+package org.example.hilite.common.event;
+
+/** 회원 정보나 회원의 역할이 변경되었음을 알리는 이벤트. username이 null이면 모든 회원이 대상이다. */
+public record MemberChangedEvent(String username) {
+
+  public static MemberChangedEvent allMembers() {
+    return new MemberChangedEvent(null);
+  }
+}
@@ -0,0 +1,4 @@
+package org.example.hilite.common.event;
+
+/** 역할, 접근 페이지, 역할-페이지 권한이 변경되었음을 알리는 이벤트 */
+public record PermissionChangedEvent(String reason) {}
@@ -7,7 +7,15 @@ public enum ErrorCode {
   DUPLICATE_EMAIL("DUPLICATE_EMAIL", "이미 존재하는 이메일입니다.", HttpStatus.CONFLICT),
   INTERNAL_SERVER_ERROR(
       "INTERNAL_SERVER_ERROR", "서버 오류가 발생했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
-  LOGIN_FAILED("LOGIN_FAILED", "아이디 또는 비밀번호가 잘못되었습니다.", HttpStatus.UNAUTHORIZED);
+  LOGIN_FAILED("LOGIN_FAILED", "아이디 또는 비밀번호가 잘못되었습니다.", HttpStatus.UNAUTHORIZED),
+  LOGIN_BUSY(
+      "LOGIN_BUSY",
+      "로그인 요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요.",
+      HttpStatus.SERVICE_UNAVAILABLE),
+  TOO_MANY_LOGIN_ATTEMPTS(
+      "TOO_MANY_LOGIN_ATTEMPTS",
+      "로그인 실패가 너무 많습니다. 잠시 후 다시 시도해 주세요.",
+      HttpStatus.TOO_MANY_REQUESTS);
 
   private final String code;
   private final String message;
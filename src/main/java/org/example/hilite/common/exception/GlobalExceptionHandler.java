@@ -2,29 +2,62 @@ package org.example.hilite.common.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+/**
+ * 서블릿 스택의 예외 응답. reactive 프로필은 {@link ReactiveGlobalExceptionHandler}가 같은 응답을 만들며, 응답 본문은 두 스택이
+ * 함께 쓰는 정적 메서드에서 만든다.
+ */
 @RestControllerAdvice
 @Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
 
   @ExceptionHandler(MethodArgumentNotValidException.class)
   public ResponseEntity<ApiErrorResponse> handleValidationException(
       MethodArgumentNotValidException ex, HttpServletRequest request) {
-    Map<String, String> fieldErrors = new HashMap<>();
+    return validationError(ex.getBindingResult().getFieldErrors(), request.getRequestURI());
+  }
 
-    ex.getBindingResult()
-        .getFieldErrors()
-        .forEach(error -> fieldErrors.put(error.getField(), error.getDefaultMessage()));
+  @ExceptionHandler(CustomException.class)
+  public ResponseEntity<ApiErrorResponse> handleCustomException(
+      CustomException ex, HttpServletRequest request) {
+    return customError(ex, request.getRequestURI());
+  }
+
+  @ExceptionHandler({BadCredentialsException.class, AuthenticationException.class})
+  public ResponseEntity<ApiErrorResponse> handleAuthenticationException(
+      Exception ex, HttpServletRequest request) {
+    return authenticationError(ex, request.getRequestURI());
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(
+      IllegalArgumentException ex, HttpServletRequest request) {
+    return illegalArgumentError(ex, request.getRequestURI());
+  }
+
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<ApiErrorResponse> handleGeneralException(
+      Exception ex, HttpServletRequest request) {
+    return generalError(request.getRequestURI());
+  }
+
+  static ResponseEntity<ApiErrorResponse> validationError(List<FieldError> errors, String path) {
+    Map<String, String> fieldErrors = new HashMap<>();
+    errors.forEach(error -> fieldErrors.put(error.getField(), error.getDefaultMessage()));
 
     ApiErrorResponse errorResponse =
         new ApiErrorResponse(
@@ -32,41 +65,33 @@ public class GlobalExceptionHandler {
             HttpStatus.BAD_REQUEST.getReasonPhrase(),
             "VALIDATION_ERROR",
             "입력값이 유효하지 않습니다.",
-            request.getRequestURI(),
+            path,
             fieldErrors);
 
     return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(errorResponse);
   }
 
-  @ExceptionHandler(CustomException.class)
-  public ResponseEntity<ApiErrorResponse> handleCustomException(
-      CustomException ex, HttpServletRequest request) {
+  static ResponseEntity<ApiErrorResponse> customError(CustomException ex, String path) {
     ApiErrorResponse response =
         new ApiErrorResponse(
             ex.getErrorCode().httpStatus().value(),
             ex.getErrorCode().httpStatus().getReasonPhrase(),
             ex.getErrorCode().code(),
             ex.getErrorCode().message(),
-            request.getRequestURI(),
+            path,
             Map.of());
     return ResponseEntity.status(ex.getErrorCode().httpStatus())
         .contentType(MediaType.APPLICATION_JSON)
         .body(response);
   }
 
-  @ExceptionHandler({BadCredentialsException.class, AuthenticationException.class})
-  public ResponseEntity<ApiErrorResponse> handleAuthenticationException(
-      Exception ex, HttpServletRequest request) {
-
+  static ResponseEntity<ApiErrorResponse> authenticationError(Exception ex, String path) {
     // 내부 로그에는 구체적인 정보 기록 (디버깅용)
     if (ex instanceof BadCredentialsException) {
-      log.warn(
-          "Authentication failed - URI: {}, Message: {}", request.getRequestURI(), ex.getMessage());
+      log.warn("Authentication failed - URI: {}, Message: {}", path, ex.getMessage());
     } else {
       log.warn(
-          "Authentication failed - URI: {}, Exception: {}",
-          request.getRequestURI(),
-          ex.getClass().getSimpleName());
+          "Authentication failed - URI: {}, Exception: {}", path, ex.getClass().getSimpleName());
     }
 
     // 클라이언트에는 동일한 메시지 반환 (보안 강화)
@@ -76,7 +101,7 @@ public class GlobalExceptionHandler {
             HttpStatus.UNAUTHORIZED.getReasonPhrase(),
             "AUTHENTICATION_FAILED",
             "아이디 또는 비밀번호가 잘못되었습니다.", // 통일된 메시지
-            request.getRequestURI(),
+            path,
             Map.of());
 
     return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -84,30 +109,27 @@ public class GlobalExceptionHandler {
         .body(response);
   }
 
-  @ExceptionHandler(IllegalArgumentException.class)
-  public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(
-      IllegalArgumentException ex, HttpServletRequest request) {
+  static ResponseEntity<ApiErrorResponse> illegalArgumentError(
+      IllegalArgumentException ex, String path) {
     ApiErrorResponse response =
         new ApiErrorResponse(
             HttpStatus.BAD_REQUEST.value(),
             HttpStatus.BAD_REQUEST.getReasonPhrase(),
             "ILLEGAL_ARGUMENT",
             ex.getMessage(),
-            request.getRequestURI(),
+            path,
             Map.of());
     return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(response);
   }
 
-  @ExceptionHandler(Exception.class)
-  public ResponseEntity<ApiErrorResponse> handleGeneralException(
-      Exception ex, HttpServletRequest request) {
+  static ResponseEntity<ApiErrorResponse> generalError(String path) {
     ApiErrorResponse response =
         new ApiErrorResponse(
             HttpStatus.INTERNAL_SERVER_ERROR.value(),
             HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(),
             "INTERNAL_SERVER_ERROR",
             "예기치 못한 오류가 발생했습니다.",
-            request.getRequestURI(),
+            path,
             Map.of());
     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
         .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,53 @@
+package org.example.hilite.common.exception;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * reactive 프로필의 예외 응답. {@link GlobalExceptionHandler}와 같은 예외를 같은 상태 코드와 {@link ApiErrorResponse}
+ * 본문으로 바꾼다. WebFlux는 {@code @Valid} 실패를 {@link WebExchangeBindException}으로 던진다.
+ */
+@RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveGlobalExceptionHandler {
+
+  @ExceptionHandler(WebExchangeBindException.class)
+  public ResponseEntity<ApiErrorResponse> handleValidationException(
+      WebExchangeBindException ex, ServerWebExchange exchange) {
+    return GlobalExceptionHandler.validationError(ex.getFieldErrors(), path(exchange));
+  }
+
+  @ExceptionHandler(CustomException.class)
+  public ResponseEntity<ApiErrorResponse> handleCustomException(
+      CustomException ex, ServerWebExchange exchange) {
+    return GlobalExceptionHandler.customError(ex, path(exchange));
+  }
+
+  @ExceptionHandler({BadCredentialsException.class, AuthenticationException.class})
+  public ResponseEntity<ApiErrorResponse> handleAuthenticationException(
+      Exception ex, ServerWebExchange exchange) {
+    return GlobalExceptionHandler.authenticationError(ex, path(exchange));
+  }
+
+  @ExceptionHandler(IllegalArgumentException.class)
+  public ResponseEntity<ApiErrorResponse> handleIllegalArgumentException(
+      IllegalArgumentException ex, ServerWebExchange exchange) {
+    return GlobalExceptionHandler.illegalArgumentError(ex, path(exchange));
+  }
+
+  @ExceptionHandler(Exception.class)
+  public ResponseEntity<ApiErrorResponse> handleGeneralException(
+      Exception ex, ServerWebExchange exchange) {
+    return GlobalExceptionHandler.generalError(path(exchange));
+  }
+
+  private static String path(ServerWebExchange exchange) {
+    return exchange.getRequest().getPath().value();
+  }
+}
@@ -0,0 +1,114 @@
+package org.example.hilite.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.slf4j.Marker;
+
+/**
+ * 지정한 로거의 INFO 이하 로그를 로거마다 초당 maxEventsPerSecond 건으로 제한하는 터보 필터.
+ *
+ * <p>인증처럼 요청마다 지나가는 경로의 로그가 비동기 큐를 채워 다른 로그까지 버려지게 하지 않으려고 쓴다. 메시지를 만들기 전에 판단하므로 버려지는 로그는
+ * 포맷 비용도 들지 않는다. WARN 이상, 이미 꺼진 레벨, isDebugEnabled 같은 레벨 확인 호출은 한도를 쓰지 않고 그대로 통과시킨다.
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+  private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  // 로거 이름 -> 현재 1초 구간. 설정한 로거와 그 하위 로거만 들어오므로 클래스 수 이상으로 커지지 않는다.
+  private final Map<String, Window> windows = new ConcurrentHashMap<>();
+  private final LongSupplier clock;
+  private String[] loggerPrefixes = new String[0];
+  private int maxEventsPerSecond = 100;
+
+  public RateLimitingTurboFilter() {
+    this(System::nanoTime);
+  }
+
+  RateLimitingTurboFilter(LongSupplier clock) {
+    this.clock = clock;
+  }
+
+  /** 쉼표로 구분한 로거 이름. 하위 로거에도 적용된다. */
+  public void setLoggers(String loggers) {
+    this.loggerPrefixes =
+        Arrays.stream(loggers.split(","))
+            .map(String::trim)
+            .filter(name -> !name.isEmpty())
+            .toArray(String[]::new);
+  }
+
+  public void setMaxEventsPerSecond(int maxEventsPerSecond) {
+    this.maxEventsPerSecond = maxEventsPerSecond;
+  }
+
+  @Override
+  public void start() {
+    if (maxEventsPerSecond <= 0) {
+      addError("maxEventsPerSecond must be positive");
+      return;
+    }
+    super.start();
+  }
+
+  @Override
+  public FilterReply decide(
+      Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+    // format이 없으면 isDebugEnabled 같은 레벨 확인 호출이다
+    if (!isStarted() || format == null || level.isGreaterOrEqual(Level.WARN)) {
+      return FilterReply.NEUTRAL;
+    }
+    // 어차피 남지 않을 로그에 한도를 쓰지 않는다. isEnabledFor는 터보 필터를 다시 부르므로 쓰지 않는다.
+    if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+      return FilterReply.NEUTRAL;
+    }
+    String name = logger.getName();
+    if (!matches(name)) {
+      return FilterReply.NEUTRAL;
+    }
+
+    long now = clock.getAsLong();
+    Window window = windows.get(name);
+    if (window == null) {
+      window = windows.computeIfAbsent(name, key -> new Window(now));
+    }
+    return window.tryAcquire(now, maxEventsPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+  }
+
+  private boolean matches(String name) {
+    for (String prefix : loggerPrefixes) {
+      if (name.startsWith(prefix)
+          && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** 1초 고정 구간의 로그 수. 구간이 바뀌는 순간 몇 건이 더 통과할 수 있지만 락 없이 처리한다. */
+  private static final class Window {
+
+    private final AtomicLong start;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private Window(long start) {
+      this.start = new AtomicLong(start);
+    }
+
+    private boolean tryAcquire(long now, int limit) {
+      long windowStart = start.get();
+      if (now - windowStart >= WINDOW_NANOS && start.compareAndSet(windowStart, now)) {
+        count.set(0);
+      }
+      return count.incrementAndGet() <= limit;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package org.example.hilite.common.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 집합의 Bloom filter. {@link #mightContain}이 false면 넣은 적 없는 키이고, true면 넣은 적이 있거나 오탐이다.
+ *
+ * <p>expectedInsertions개를 넣었을 때 오탐률이 falsePositiveRate가 되도록 비트 수와 해시 수를 정한다. 비트 배열은 락 없이 CAS로 켜므로
+ * 조회와 추가가 동시에 일어나도 된다. 켜진 비트 수를 세어 두어 지금 상태의 오탐률을 바로 계산할 수 있다. 키를 지울 수는 없다.
+ */
+public final class BloomFilter {
+
+  private final AtomicLongArray words;
+  private final int bits;
+  private final int hashes;
+  private final long seed;
+  private final AtomicLong bitsSet = new AtomicLong();
+
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    this(expectedInsertions, falsePositiveRate, ThreadLocalRandom.current().nextLong());
+  }
+
+  BloomFilter(long expectedInsertions, double falsePositiveRate, long seed) {
+    if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("Invalid bloom filter size");
+    }
+    // m = -n ln p / (ln 2)^2, k = m / n ln 2
+    double optimalBits =
+        -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+    this.bits = SeededHash.roundUpToPowerOfTwo((int) Math.min(Math.ceil(optimalBits), 1 << 30));
+    this.hashes =
+        Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+    this.words = new AtomicLongArray(Math.max(1, bits / Long.SIZE));
+    this.seed = seed;
+  }
+
+  public void put(String key) {
+    long hash = SeededHash.hash(key, seed);
+    for (int i = 0; i < hashes; i++) {
+      int bit = SeededHash.index(hash, i, bits);
+      int word = bit >>> 6;
+      long mask = 1L << bit;
+      long current = words.get(word);
+      while ((current & mask) == 0) {
+        if (words.compareAndSet(word, current, current | mask)) {
+          bitsSet.incrementAndGet();
+          break;
+        }
+        current = words.get(word);
+      }
+    }
+  }
+
+  public boolean mightContain(String key) {
+    long hash = SeededHash.hash(key, seed);
+    for (int i = 0; i < hashes; i++) {
+      int bit = SeededHash.index(hash, i, bits);
+      if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** 넣은 적 없는 키에 대해 지금 mightContain이 true를 돌려줄 확률 */
+  public double expectedFalsePositiveRate() {
+    return Math.pow((double) bitsSet.get() / bits, hashes);
+  }
+
+  /** 비트 배열이 차지하는 바이트 수 */
+  public long memoryBytes() {
+    return (long) words.length() * Long.BYTES;
+  }
+}
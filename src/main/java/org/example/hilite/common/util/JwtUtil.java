@@ -1,46 +1,189 @@
 package org.example.hilite.common.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
 
+  private static final String ROLES_CLAIM = "roles";
+  private static final String EPOCH_CLAIM = "epoch";
+
   private final Key key;
+  // JwtParser는 불변이라 한 번 만들어 모든 요청에서 공유한다
+  private final JwtParser parser;
+  // 토큰 다이제스트 -> 검증된 클레임. 같은 토큰이 반복해서 오면 서명 검증과 JSON 파싱을 건너뛴다
+  private final Cache<String, Claims> verifiedTokens;
   private final long EXPIRATION = 1000 * 60 * 60; // 1시간
+  private final Clock clock;
+  private final TokenVersionStore tokenVersionStore;
+  // true면 역할과 토큰 epoch를 토큰에 담아 요청마다 사용자를 조회하지 않는다
+  private final boolean stateless;
+
+  @Autowired
+  public JwtUtil(
+      @Value("${jwt.secret}") String jwtSecret,
+      @Value("${jwt.stateless:false}") boolean stateless,
+      TokenVersionStore tokenVersionStore,
+      @Value("${jwt.cache.maximum-size:10000}") long cacheMaximumSize) {
+    this(
+        jwtSecret,
+        stateless,
+        tokenVersionStore,
+        cacheMaximumSize,
+        Clock.systemUTC(),
+        Ticker.systemTicker());
+  }
 
-  public JwtUtil(@Value("${jwt.secret}") String jwtSecret) {
+  // 테스트에서 토큰 만료와 캐시 만료를 같은 가짜 시계로 움직일 때 쓴다
+  JwtUtil(
+      String jwtSecret,
+      boolean stateless,
+      TokenVersionStore tokenVersionStore,
+      long cacheMaximumSize,
+      Clock clock,
+      Ticker ticker) {
     this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    this.clock = clock;
+    this.parser =
+        Jwts.parserBuilder().setSigningKey(key).setClock(() -> Date.from(clock.instant())).build();
+    this.verifiedTokens =
+        Caffeine.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfter(new UntilTokenExpiration(clock))
+            .ticker(ticker)
+            .build();
+    this.stateless = stateless;
+    this.tokenVersionStore = tokenVersionStore;
   }
 
   public String generateToken(String username) {
     return Jwts.builder()
         .setSubject(username)
-        .setIssuedAt(new Date())
-        .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+        .setIssuedAt(new Date(clock.millis()))
+        .setExpiration(new Date(clock.millis() + EXPIRATION))
+        .signWith(key)
+        .compact();
+  }
+
+  public String generateToken(UserDetails user) {
+    if (!stateless) {
+      return generateToken(user.getUsername());
+    }
+
+    List<String> roles =
+        user.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    return Jwts.builder()
+        .setSubject(user.getUsername())
+        .claim(ROLES_CLAIM, roles)
+        .claim(EPOCH_CLAIM, tokenVersionStore.epoch())
+        .setIssuedAt(new Date(clock.millis()))
+        .setExpiration(new Date(clock.millis() + EXPIRATION))
         .signWith(key)
         .compact();
   }
 
+  public boolean isStateless() {
+    return stateless;
+  }
+
+  /**
+   * 서명과 만료를 검증한 클레임. 유효하지 않으면 {@link JwtException}을 던진다.
+   *
+   * <p>검증에 성공한 토큰은 만료 시각까지 캐시되고 실패한 토큰은 캐시되지 않는다.
+   */
+  public Claims parseClaims(String token) {
+    String jwt = token.startsWith("Bearer ") ? token.substring(7) : token;
+    return verifiedTokens.get(digest(jwt), k -> parser.parseClaimsJws(jwt).getBody());
+  }
+
+  /**
+   * 무상태 토큰에 담긴 역할 목록. 역할 클레임이 없는 토큰(무상태 모드 이전에 발급된 토큰)이면 null을 반환한다.
+   *
+   * <p>토큰 버전이 현재 값과 다르면 폐기된 토큰으로 보고 {@link JwtException}을 던진다.
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> getRoles(Claims claims) {
+    List<String> roles = claims.get(ROLES_CLAIM, List.class);
+    if (roles == null) {
+      return null;
+    }
+
+    Number epoch = claims.get(EPOCH_CLAIM, Number.class);
+    if (epoch == null || !tokenVersionStore.isCurrent(epoch.longValue())) {
+      throw new JwtException("Revoked JWT");
+    }
+    return roles;
+  }
+
   public String validateAndGetUsername(String token) {
     try {
-      if (token.startsWith("Bearer ")) {
-        token = token.substring(7);
-      }
-
-      return Jwts.parserBuilder()
-          .setSigningKey(key)
-          .build()
-          .parseClaimsJws(token)
-          .getBody()
-          .getSubject();
+      return parseClaims(token).getSubject();
     } catch (JwtException e) {
       throw new RuntimeException("Invalid JWT: " + e.getMessage(), e);
     }
   }
+
+  // 원본 토큰을 메모리에 남기지 않도록 SHA-256 다이제스트를 캐시 키로 쓴다
+  private static String digest(String token) {
+    try {
+      MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /** 캐시 항목을 토큰의 exp 시각에 만료시킨다 */
+  private static final class UntilTokenExpiration implements Expiry<String, Claims> {
+
+    private final Clock clock;
+
+    private UntilTokenExpiration(Clock clock) {
+      this.clock = clock;
+    }
+
+    @Override
+    public long expireAfterCreate(String key, Claims claims, long currentTime) {
+      Date expiration = claims.getExpiration();
+      if (expiration == null) {
+        return 0;
+      }
+      long remainingMillis = expiration.getTime() - clock.millis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
 }
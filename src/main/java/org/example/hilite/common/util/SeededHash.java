@@ -0,0 +1,40 @@
+package org.example.hilite.common.util;
+
+/**
+ * 확률적 자료 구조가 키를 칸에 나눌 때 쓰는 64비트 문자열 해시.
+ *
+ * <p>String.hashCode는 충돌하는 문자열을 쉽게 만들 수 있어 쓰지 않는다. 인스턴스마다 무작위 시드를 섞으므로 같은 칸에 떨어지는 키를 미리 만들어 둘 수
+ * 없다.
+ */
+final class SeededHash {
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private SeededHash() {}
+
+  // 시드를 섞은 FNV-1a 뒤에 murmur3 finalizer로 비트를 고르게 퍼뜨린다
+  static long hash(String key, long seed) {
+    long h = seed;
+    for (int i = 0; i < key.length(); i++) {
+      h ^= key.charAt(i);
+      h *= FNV_PRIME;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /** 64비트 해시 하나에서 i번째 칸을 고른다 (double hashing). size는 2의 거듭제곱이다. */
+  static int index(long hash, int i, int size) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    return (h1 + i * h2) & (size - 1);
+  }
+
+  static int roundUpToPowerOfTwo(int value) {
+    return Integer.bitCount(value) == 1 ? value : Integer.highestOneBit(value) << 1;
+  }
+}
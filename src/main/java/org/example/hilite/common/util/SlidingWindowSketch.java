@@ -0,0 +1,119 @@
+package org.example.hilite.common.util;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 window 동안 키마다 발생한 횟수를 세는 고정 크기 count-min sketch.
+ *
+ * <p>window를 buckets개의 구간으로 나누고 구간마다 depth x width 카운터 배열을 둔다. 키는 행마다 다른 칸에 더해지고, 추정값은 행마다 살아 있는
+ * 구간의 합을 구한 뒤 그중 가장 작은 값이다. 오래된 구간은 다시 쓰일 때 비우므로 따로 정리하는 스레드가 없다. 키를 저장하지 않아 메모리는 키 종류와
+ * 상관없이 buckets x depth x width x 4바이트로 고정되고, 갱신과 조회는 락 없이 배열 칸만 건드린다.
+ *
+ * <p>충돌은 추정값을 키우기만 하므로 실제 횟수보다 작게 세지 않는다. 가장 작은 칸만 올리는 conservative update는 동시에 더할 때 횟수를
+ * 잃을 수 있어 쓰지 않는다. 해시 시드는 인스턴스마다 무작위다. 구간이 바뀌는 순간에 동시에 더한 값 일부는 비우는 과정에서 사라질 수 있다.
+ */
+public final class SlidingWindowSketch {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private final int depth;
+  private final int width;
+  private final long bucketNanos;
+  private final Bucket[] buckets;
+  private final long seed;
+  private final LongSupplier clock;
+
+  /** width는 2의 거듭제곱으로 올림한다 */
+  public SlidingWindowSketch(Duration window, int buckets, int depth, int width) {
+    this(window, buckets, depth, width, System::nanoTime, ThreadLocalRandom.current().nextLong());
+  }
+
+  SlidingWindowSketch(
+      Duration window, int buckets, int depth, int width, LongSupplier clock, long seed) {
+    if (buckets <= 0
+        || depth <= 0
+        || width <= 0
+        || width > 1 << 30
+        || window.toNanos() < buckets) {
+      throw new IllegalArgumentException("Invalid sketch dimensions");
+    }
+    this.depth = depth;
+    this.width = SeededHash.roundUpToPowerOfTwo(width);
+    this.bucketNanos = window.toNanos() / buckets;
+    this.buckets = new Bucket[buckets];
+    for (int i = 0; i < buckets; i++) {
+      this.buckets[i] = new Bucket(depth * this.width);
+    }
+    this.seed = seed;
+    this.clock = clock;
+  }
+
+  /** key의 횟수를 1 올린다 */
+  public void increment(String key) {
+    long slot = slot();
+    long hash = SeededHash.hash(key, seed);
+    Bucket bucket = current(slot);
+    for (int row = 0; row < depth; row++) {
+      bucket.counts.incrementAndGet(index(hash, row));
+    }
+  }
+
+  /** 최근 window 동안 key의 횟수. 실제보다 클 수는 있어도 작지는 않다. */
+  public int estimate(String key) {
+    long slot = slot();
+    long hash = SeededHash.hash(key, seed);
+
+    int min = Integer.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      int index = index(hash, row);
+      int sum = 0;
+      for (Bucket bucket : buckets) {
+        if (bucket.slot.get() > slot - buckets.length) {
+          sum += bucket.counts.get(index);
+        }
+      }
+      min = Math.min(min, sum);
+    }
+    return min;
+  }
+
+  /** 카운터 배열이 차지하는 바이트 수 */
+  public long memoryBytes() {
+    return (long) buckets.length * depth * width * Integer.BYTES;
+  }
+
+  private long slot() {
+    return Math.floorDiv(clock.getAsLong(), bucketNanos);
+  }
+
+  private Bucket current(long slot) {
+    Bucket bucket = buckets[(int) Math.floorMod(slot, buckets.length)];
+    long owner = bucket.slot.get();
+    // 늦게 시각을 읽은 스레드가 이미 다음 구간으로 넘어간 칸을 되돌리지 않도록 앞으로만 옮긴다
+    if (owner < slot && bucket.slot.compareAndSet(owner, slot)) {
+      for (int i = 0; i < bucket.counts.length(); i++) {
+        bucket.counts.lazySet(i, 0);
+      }
+    }
+    return bucket;
+  }
+
+  // 행마다 width칸씩 이어 붙인 배열에서 row 행의 칸
+  private int index(long hash, int row) {
+    return row * width + SeededHash.index(hash, row, width);
+  }
+
+  private static final class Bucket {
+
+    private final AtomicLong slot = new AtomicLong(EMPTY);
+    private final AtomicIntegerArray counts;
+
+    private Bucket(int size) {
+      this.counts = new AtomicIntegerArray(size);
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package org.example.hilite.common.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * 무상태 JWT 폐기를 위한 토큰 버전 테이블.
+ *
+ * <p>토큰에는 발급 시점의 전역 epoch가 담기고, 현재 값과 다르면 토큰을 거부한다. 메모리에만 보관하므로 인스턴스마다 따로 관리되며 재시작하면
+ * 초기화된다.
+ *
+ * <p>회원 한 명의 역할이나 비밀번호를 바꾸는 기능이 없어 사용자별 버전은 두지 않는다. 로그인할 때의 비밀번호 재해시는 비밀번호가 그대로이므로 토큰을
+ * 폐기하지 않는다. 그런 기능이 생기면 사용자별 버전을 다시 담아 그 경로에서 폐기한다.
+ */
+@Component
+public class TokenVersionStore {
+
+  private final AtomicLong epoch = new AtomicLong();
+
+  public long epoch() {
+    return epoch.get();
+  }
+
+  public boolean isCurrent(long tokenEpoch) {
+    return epoch() == tokenEpoch;
+  }
+
+  /** 모든 사용자의 토큰을 폐기한다. 역할이 삭제되는 등 토큰에 담긴 역할을 믿을 수 없을 때 쓴다. */
+  public void revokeAll() {
+    epoch.incrementAndGet();
+  }
+}
@@ -0,0 +1,71 @@
+package org.example.hilite.config;
+
+import java.time.Duration;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 저장된 해시의 cost가 현재 cost와 다르면 다시 해시하라고 알리는 BCrypt 인코더.
+ *
+ * <p>{@link BCryptPasswordEncoder#upgradeEncoding}은 cost가 낮은 해시만 올린다. 서버 성능에 맞춰 cost를 내린 경우에도 로그인 한
+ * 번의 비용을 목표 시간에 맞추려면 cost가 높은 해시도 다시 해시해야 한다.
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+  private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+  private final int cost;
+
+  public AdaptiveBCryptPasswordEncoder(int cost) {
+    super(cost);
+    this.cost = cost;
+  }
+
+  /**
+   * 해시 한 번이 target을 넘지 않는 가장 큰 cost. minCost로 한 번 재고, cost가 1 오를 때마다 시간이 두 배가 된다고 보고 maxCost까지
+   * 올린다.
+   */
+  public static int calibrate(Duration target, int minCost, int maxCost) {
+    // JIT가 해시 루프를 컴파일한 뒤에 잰다
+    for (int i = 0; i < 3; i++) {
+      BCrypt.hashpw(CALIBRATION_PASSWORD, BCrypt.gensalt(4));
+    }
+    long start = System.nanoTime();
+    BCrypt.hashpw(CALIBRATION_PASSWORD, BCrypt.gensalt(minCost));
+    long elapsed = Math.max(System.nanoTime() - start, 1);
+
+    int cost = minCost;
+    while (cost < maxCost && elapsed * 2 <= target.toNanos()) {
+      cost++;
+      elapsed *= 2;
+    }
+    return cost;
+  }
+
+  public int cost() {
+    return cost;
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    int storedCost = costOf(encodedPassword);
+    return storedCost > 0 && storedCost != cost;
+  }
+
+  /** {@code $2a$10$...} 형식 해시의 cost. 형식이 다르면 -1. */
+  static int costOf(String encodedPassword) {
+    if (encodedPassword == null
+        || encodedPassword.length() < 7
+        || encodedPassword.charAt(0) != '$'
+        || encodedPassword.charAt(3) != '$'
+        || encodedPassword.charAt(6) != '$') {
+      return -1;
+    }
+    char tens = encodedPassword.charAt(4);
+    char ones = encodedPassword.charAt(5);
+    if (tens < '0' || tens > '9' || ones < '0' || ones > '9') {
+      return -1;
+    }
+    return (tens - '0') * 10 + (ones - '0');
+  }
+}
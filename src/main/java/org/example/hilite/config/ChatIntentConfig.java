@@ -0,0 +1,19 @@
+package org.example.hilite.config;
+
+import java.util.Map;
+import org.example.hilite.service.AhoCorasickIntentClassifier;
+import org.example.hilite.service.IntentClassifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ChatIntentProperties.class)
+public class ChatIntentConfig {
+
+  @Bean
+  public IntentClassifier intentClassifier(ChatIntentProperties properties) {
+    return AhoCorasickIntentClassifier.compile(
+        properties.intents() != null ? properties.intents() : Map.of());
+  }
+}
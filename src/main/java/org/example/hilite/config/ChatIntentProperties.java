@@ -0,0 +1,9 @@
+package org.example.hilite.config;
+
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** hilite.chat.intents: 의도 이름 -> 키워드 목록. 먼저 선언된 의도가 우선한다. */
+@ConfigurationProperties(prefix = "hilite.chat")
+public record ChatIntentProperties(Map<String, List<String>> intents) {}
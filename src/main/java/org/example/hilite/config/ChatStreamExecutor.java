@@ -0,0 +1,99 @@
+package org.example.hilite.config;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.service.ChatStreamSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스트리밍 채팅 세션 전용 실행기.
+ *
+ * <p>세션마다 가상 스레드 하나를 쓰므로 공용 ForkJoinPool이나 플랫폼 스레드를 점유하지 않는다. 제출한 스레드의 SecurityContext를 작업 스레드로
+ * 옮기고, 전체 및 사용자별 동시 세션 수를 제한한다. 슬롯은 작업이 끝날 때가 아니라 세션이 닫힐 때 반환된다.
+ */
+@Component
+@Slf4j
+public class ChatStreamExecutor {
+
+  private final ExecutorService executor;
+  private final Semaphore globalPermits;
+  private final int maxPerUser;
+  private final Map<String, Integer> userStreams = new ConcurrentHashMap<>();
+
+  public ChatStreamExecutor(
+      @Value("${hilite.chat.stream.max-concurrent:10000}") int maxConcurrent,
+      @Value("${hilite.chat.stream.max-per-user:3}") int maxPerUser) {
+    ThreadFactory virtualThreads = Thread.ofVirtual().name("chat-stream-", 0).factory();
+    this.executor =
+        new DelegatingSecurityContextExecutorService(
+            Executors.newThreadPerTaskExecutor(virtualThreads));
+    this.globalPermits = new Semaphore(maxConcurrent);
+    this.maxPerUser = maxPerUser;
+  }
+
+  /** 한도 안이면 작업을 가상 스레드에서 실행하고 true를, 한도를 넘으면 실행하지 않고 false를 반환한다 */
+  public boolean submit(String username, ChatStreamSession session, Runnable task) {
+    if (!globalPermits.tryAcquire()) {
+      log.warn("Global chat stream limit reached, rejecting stream for {}", username);
+      return false;
+    }
+    if (!acquireUserSlot(username)) {
+      globalPermits.release();
+      log.warn("Chat stream limit per user reached for {}", username);
+      return false;
+    }
+
+    AtomicBoolean released = new AtomicBoolean();
+    Runnable release =
+        () -> {
+          if (released.compareAndSet(false, true)) {
+            releaseUserSlot(username);
+            globalPermits.release();
+          }
+        };
+
+    session.onClose(release);
+    try {
+      executor.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      release.run();
+      throw e;
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private boolean acquireUserSlot(String username) {
+    AtomicBoolean acquired = new AtomicBoolean();
+    userStreams.compute(
+        username,
+        (key, count) -> {
+          int current = count == null ? 0 : count;
+          if (current >= maxPerUser) {
+            return count;
+          }
+          acquired.set(true);
+          return current + 1;
+        });
+    return acquired.get();
+  }
+
+  // 0이 되면 항목을 지워 사용자 수만큼 맵이 커지지 않게 한다
+  private void releaseUserSlot(String username) {
+    userStreams.computeIfPresent(username, (key, count) -> count > 1 ? count - 1 : null);
+  }
+}
@@ -0,0 +1,11 @@
+package org.example.hilite.config;
+
+/**
+ * 요청을 보낸 클라이언트의 IP 주소. 컨트롤러 메서드 인자로 받으면 서블릿, 리액티브 스택 모두 채워 준다.
+ *
+ * <p>프록시 뒤에서는 server.forward-headers-strategy를 설정해야 프록시가 아닌 클라이언트 주소가 들어온다.
+ */
+public record ClientAddress(String value) {
+
+  static final ClientAddress UNKNOWN = new ClientAddress("unknown");
+}
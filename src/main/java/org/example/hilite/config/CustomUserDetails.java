@@ -1,35 +1,44 @@
 package org.example.hilite.config;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.List;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.example.hilite.entity.Member;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+/** 인증에 필요한 값만 복사해 둔 불변 스냅샷. 영속성 컨텍스트 밖에서 캐시해도 안전하다. */
 @Getter
-@RequiredArgsConstructor
 public class CustomUserDetails implements UserDetails {
 
-  private final Member member;
+  private final String username;
+  private final String password;
+  private final List<GrantedAuthority> authorities;
 
-  @Override
-  public Collection<? extends GrantedAuthority> getAuthorities() {
-    return member.getMemberRoles().stream()
-        .map(memberRole -> new SimpleGrantedAuthority(memberRole.getRole().getName()))
-        .collect(Collectors.toList());
+  private CustomUserDetails(String username, String password, List<GrantedAuthority> authorities) {
+    this.username = username;
+    this.password = password;
+    this.authorities = authorities;
   }
 
-  @Override
-  public String getPassword() {
-    return member.getPassword();
+  public static CustomUserDetails from(Member member) {
+    List<GrantedAuthority> authorities =
+        member.getMemberRoles().stream()
+            .<GrantedAuthority>map(
+                memberRole -> new SimpleGrantedAuthority(memberRole.getRole().getName()))
+            .toList();
+    return new CustomUserDetails(member.getUsername(), member.getPassword(), authorities);
+  }
+
+  /** 비밀번호 해시만 바꾼 사본 */
+  public CustomUserDetails withPassword(String password) {
+    return new CustomUserDetails(username, password, authorities);
   }
 
   @Override
-  public String getUsername() {
-    return member.getUsername();
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
   }
 
   @Override
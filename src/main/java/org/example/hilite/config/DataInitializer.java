@@ -12,10 +12,13 @@ import org.example.hilite.repository.AccessPageRepository;
 import org.example.hilite.repository.MemberRepository;
 import org.example.hilite.repository.RolePagePermissionRepository;
 import org.example.hilite.repository.RoleRepository;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
+// 회원을 넣기 전에 시퀀스를 기존 최대 id 뒤로 옮겨 둔다
+@DependsOn("sequenceInitializer")
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer {
@@ -41,15 +44,15 @@ public class DataInitializer {
     AccessPage userPages = createPageIfNotExists("/user/**");
     AccessPage memberPages = createPageIfNotExists("/member/**");
 
-    // 기본 권한 설정
+    // 기본 역할 상속: ADMIN은 USER의, USER는 GUEST의 권한을 물려받는다
+    createParentIfNotExists(adminRole, userRole);
+    createParentIfNotExists(userRole, guestRole);
+
+    // 기본 권한 설정. 물려받는 권한은 다시 주지 않는다
     createPermissionIfNotExists(adminRole, adminPages);
-    createPermissionIfNotExists(adminRole, playPages);
     createPermissionIfNotExists(adminRole, chatPages);
-    createPermissionIfNotExists(adminRole, userPages);
-    createPermissionIfNotExists(adminRole, memberPages);
 
     createPermissionIfNotExists(userRole, userPages);
-    createPermissionIfNotExists(userRole, playPages);
     createPermissionIfNotExists(userRole, memberPages);
 
     createPermissionIfNotExists(guestRole, playPages);
@@ -62,8 +65,9 @@ public class DataInitializer {
   }
 
   private Role createRoleIfNotExists(String roleName) {
+    // 상속을 더할 수 있도록 부모까지 읽어 둔다
     return roleRepository
-        .findByName(roleName)
+        .findWithParentsByName(roleName)
         .orElseGet(
             () -> {
               Role role = new Role();
@@ -72,6 +76,15 @@ public class DataInitializer {
             });
   }
 
+  private void createParentIfNotExists(Role role, Role parent) {
+    boolean exists = role.getParents().stream().anyMatch(p -> p.getId().equals(parent.getId()));
+
+    if (!exists) {
+      role.getParents().add(parent);
+      roleRepository.save(role);
+    }
+  }
+
   private AccessPage createPageIfNotExists(String path) {
     return accessPageRepository
         .findByPath(path)
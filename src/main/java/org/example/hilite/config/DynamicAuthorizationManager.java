@@ -5,7 +5,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.hilite.service.DynamicPermissionService;
+import org.example.hilite.service.AuthorizationDecisionCache;
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.core.Authentication;
@@ -19,7 +19,7 @@ import org.springframework.stereotype.Component;
 public class DynamicAuthorizationManager
     implements AuthorizationManager<RequestAuthorizationContext> {
 
-  private final DynamicPermissionService dynamicPermissionService;
+  private final AuthorizationDecisionCache authorizationDecisionCache;
 
   @Override
   public AuthorizationDecision check(
@@ -41,15 +41,14 @@ public class DynamicAuthorizationManager
             .map(GrantedAuthority::getAuthority)
             .collect(Collectors.toList());
 
-    log.info(
-        "Checking authorization for user: {} with roles: {} for path: {}",
+    boolean hasPermission = authorizationDecisionCache.hasPermission(requestPath, userRoles);
+
+    log.debug(
+        "Authorization decision for user: {} with roles: {} for path {}: {}",
         auth.getName(),
         userRoles,
-        requestPath);
-
-    boolean hasPermission = dynamicPermissionService.hasPermission(requestPath, userRoles);
-
-    log.info("Authorization decision for {}: {}", requestPath, hasPermission);
+        requestPath,
+        hasPermission);
     return new AuthorizationDecision(hasPermission);
   }
 }
@@ -0,0 +1,135 @@
+package org.example.hilite.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.example.hilite.common.exception.CustomException;
+import org.example.hilite.common.exception.ErrorCode;
+import org.example.hilite.common.util.SlidingWindowSketch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 아이디와 클라이언트 주소별 로그인 실패 횟수로 무차별 대입을 막는다.
+ *
+ * <p>최근 window 동안 실패가 한도에 닿은 아이디나 주소의 로그인은 회원 조회와 비밀번호 해시 전에 거절한다. 횟수는 {@link
+ * SlidingWindowSketch}에만 세므로 아이디나 주소를 무작위로 바꿔 보내도 메모리가 늘지 않고, 실패는 window가 지나면 저절로 사라진다. 추정값은 실제보다
+ * 클 수만 있어서 한도를 넘긴 키는 놓치지 않지만, 실패한 키가 sketch 너비에 가까울 만큼 많아지면 정상 키도 거절될 수 있다.
+ * login.throttle.sketch.memory로 크기를 보고 width를 정한다.
+ *
+ * <p>실패는 해시가 끝나야 알 수 있으므로, 해시를 기다리거나 하고 있는 시도도 실패처럼 한도에 넣는다. 그렇지 않으면 동시에 몰려온 시도가 해시 대기열
+ * 크기만큼 모두 검사를 통과한다. 진행 중인 시도는 키별 맵에 세고 끝나면 지우므로 맵 크기는 해시 실행기가 받아 둘 수 있는 시도 수를 넘지 않는다.
+ *
+ * <p>아이디는 MySQL 기본 정렬 규칙처럼 대소문자를 구분하지 않고 같은 계정으로 로그인되므로 소문자로 바꿔 센다. 성공해도 횟수를 되돌리지 않는다.
+ * 아이디가 잠겼는지 알려 주지 않도록 두 한도 모두 같은 오류로 거절한다.
+ */
+@Component
+public class LoginAttemptThrottle {
+
+  private final SlidingWindowSketch usernameFailures;
+  private final SlidingWindowSketch addressFailures;
+  private final int maxFailuresPerUsername;
+  private final int maxFailuresPerAddress;
+  private final Counter rejectedUsername;
+  private final Counter rejectedAddress;
+  // 키 -> 해시를 기다리거나 하고 있는 시도 수
+  private final Map<String, Integer> pendingUsernames = new ConcurrentHashMap<>();
+  private final Map<String, Integer> pendingAddresses = new ConcurrentHashMap<>();
+
+  public LoginAttemptThrottle(
+      MeterRegistry meterRegistry,
+      @Value("${hilite.security.login-throttle.window:10m}") Duration window,
+      @Value("${hilite.security.login-throttle.buckets:10}") int buckets,
+      @Value("${hilite.security.login-throttle.max-failures-per-username:10}")
+          int maxFailuresPerUsername,
+      @Value("${hilite.security.login-throttle.max-failures-per-address:100}")
+          int maxFailuresPerAddress,
+      @Value("${hilite.security.login-throttle.sketch.depth:4}") int depth,
+      @Value("${hilite.security.login-throttle.sketch.width:16384}") int width) {
+    this.usernameFailures = new SlidingWindowSketch(window, buckets, depth, width);
+    this.addressFailures = new SlidingWindowSketch(window, buckets, depth, width);
+    this.maxFailuresPerUsername = maxFailuresPerUsername;
+    this.maxFailuresPerAddress = maxFailuresPerAddress;
+    this.rejectedUsername =
+        Counter.builder("login.throttle.rejected").tag("key", "username").register(meterRegistry);
+    this.rejectedAddress =
+        Counter.builder("login.throttle.rejected").tag("key", "address").register(meterRegistry);
+    Gauge.builder(
+            "login.throttle.sketch.memory",
+            this,
+            throttle ->
+                throttle.usernameFailures.memoryBytes() + throttle.addressFailures.memoryBytes())
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 실패와 진행 중인 시도가 한도에 닿은 아이디나 주소면 TOO_MANY_LOGIN_ATTEMPTS {@link CustomException}을 던지고, 아니면 시도
+   * 하나를 예약한다. 돌려받은 {@link Attempt}는 결과와 상관없이 끝날 때 반드시 release한다.
+   */
+  public Attempt acquire(String username, String address) {
+    String usernameKey = username.toLowerCase(Locale.ROOT);
+    if (!reserve(pendingUsernames, usernameFailures, usernameKey, maxFailuresPerUsername)) {
+      rejectedUsername.increment();
+      throw new CustomException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS);
+    }
+    if (!reserve(pendingAddresses, addressFailures, address, maxFailuresPerAddress)) {
+      release(pendingUsernames, usernameKey);
+      rejectedAddress.increment();
+      throw new CustomException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS);
+    }
+    return new Attempt(usernameKey, address);
+  }
+
+  private static boolean reserve(
+      Map<String, Integer> pending, SlidingWindowSketch failures, String key, int limit) {
+    boolean[] reserved = new boolean[1];
+    pending.compute(
+        key,
+        (ignored, current) -> {
+          int inFlight = current == null ? 0 : current;
+          if (failures.estimate(key) + inFlight >= limit) {
+            return current;
+          }
+          reserved[0] = true;
+          return inFlight + 1;
+        });
+    return reserved[0];
+  }
+
+  private static void release(Map<String, Integer> pending, String key) {
+    pending.computeIfPresent(key, (ignored, current) -> current > 1 ? current - 1 : null);
+  }
+
+  /** {@link #acquire}로 예약한 로그인 시도 하나 */
+  public final class Attempt {
+
+    private final String username;
+    private final String address;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Attempt(String username, String address) {
+      this.username = username;
+      this.address = address;
+    }
+
+    /** 비밀번호가 틀렸을 때. release보다 먼저 불러야 그 사이에 다른 시도가 한도를 지나치지 않는다. */
+    public void recordFailure() {
+      usernameFailures.increment(username);
+      addressFailures.increment(address);
+    }
+
+    /** 예약을 푼다. 두 번 불러도 한 번만 푼다. */
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        LoginAttemptThrottle.release(pendingUsernames, username);
+        LoginAttemptThrottle.release(pendingAddresses, address);
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package org.example.hilite.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.common.exception.CustomException;
+import org.example.hilite.common.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그인 비밀번호 검증 전용 실행기.
+ *
+ * <p>BCrypt 해시는 CPU를 오래 쓰므로 정해진 수의 플랫폼 스레드에서만 돌리고, 요청 스레드는 결과를 기다리지 않고 돌아간다. 로그인이 몰려도 다른 API의
+ * 요청 스레드와 CPU를 다 차지하지 못한다. 대기열이 queue-capacity만큼 차 있으면 바로 거절하고, 대기열에서 queue-timeout보다 오래 기다린
+ * 요청은 해시하지 않고 거절한다. 어느 경우든 {@link ErrorCode#LOGIN_BUSY}로 실패한다.
+ */
+@Component
+@Slf4j
+public class LoginHashExecutor {
+
+  private final ThreadPoolExecutor executor;
+  private final long queueTimeoutNanos;
+  private final Timer queueWait;
+  private final Counter rejectedFull;
+  private final Counter rejectedTimeout;
+
+  public LoginHashExecutor(
+      MeterRegistry meterRegistry,
+      @Value("${hilite.security.password.threads:0}") int threads,
+      @Value("${hilite.security.password.queue-capacity:200}") int queueCapacity,
+      @Value("${hilite.security.password.queue-timeout:2s}") Duration queueTimeout) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name("login-hash-", 0).daemon().factory());
+    this.queueTimeoutNanos = queueTimeout.toNanos();
+    this.queueWait = Timer.builder("login.hash.queue.wait").register(meterRegistry);
+    this.rejectedFull =
+        Counter.builder("login.hash.rejected").tag("reason", "full").register(meterRegistry);
+    this.rejectedTimeout =
+        Counter.builder("login.hash.rejected").tag("reason", "timeout").register(meterRegistry);
+    Gauge.builder("login.hash.queue.size", executor, pool -> pool.getQueue().size())
+        .register(meterRegistry);
+  }
+
+  /** task를 해시 스레드에서 실행한다. 거절되면 LOGIN_BUSY {@link CustomException}으로 실패한다. */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    long enqueuedAt = System.nanoTime();
+    try {
+      executor.execute(() -> run(task, result, enqueuedAt));
+    } catch (RejectedExecutionException e) {
+      rejectedFull.increment();
+      log.warn("Login hash queue is full, rejecting login");
+      result.completeExceptionally(new CustomException(ErrorCode.LOGIN_BUSY));
+    }
+    return result;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> void run(Supplier<T> task, CompletableFuture<T> result, long enqueuedAt) {
+    long waited = System.nanoTime() - enqueuedAt;
+    queueWait.record(waited, TimeUnit.NANOSECONDS);
+    // 클라이언트가 이미 포기했을 만큼 기다린 요청에 해시 비용을 쓰지 않는다
+    if (waited > queueTimeoutNanos) {
+      rejectedTimeout.increment();
+      result.completeExceptionally(new CustomException(ErrorCode.LOGIN_BUSY));
+      return;
+    }
+    try {
+      result.complete(task.get());
+    } catch (Throwable e) {
+      result.completeExceptionally(e);
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package org.example.hilite.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 오래 스트리밍하는 StreamingResponseBody 핸들러에 붙인다. 이 핸들러만 비동기 요청 타임아웃을 hilite.web.long-stream-timeout으로
+ * 늘리고, 나머지 비동기 응답은 기본 타임아웃을 그대로 쓴다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface LongRunningStream {}
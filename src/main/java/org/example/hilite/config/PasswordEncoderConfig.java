@@ -0,0 +1,46 @@
+package org.example.hilite.config;
+
+import java.time.Duration;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/** 서블릿, 리액티브 스택이 함께 쓰는 비밀번호 인코더 */
+@Configuration
+@Slf4j
+public class PasswordEncoderConfig {
+
+  private static final String BCRYPT = "bcrypt";
+
+  /**
+   * 해시 앞에 {@code {bcrypt}} 접두사를 붙여 저장한다. 접두사 없이 저장된 기존 해시도 BCrypt로 검증하고, 그런 해시나 cost가 다른 해시는
+   * 로그인에 성공할 때 현재 설정으로 다시 저장된다.
+   *
+   * <p>cost는 기본값 10(기존 BCryptPasswordEncoder와 같다)으로 고정한다. 서버마다 cost가 다르면 로그인할 때마다 서로의 해시를 다시 쓰게
+   * 되므로, 시작할 때 보정하는 방식은 한 대만 띄울 때 cost를 0으로 두어 직접 켠다. 이때 해시 한 번이 target-hash-time을 넘지 않도록 min-cost와
+   * max-cost 사이에서 고른다.
+   */
+  @Bean
+  public PasswordEncoder passwordEncoder(
+      @Value("${hilite.security.password.cost:10}") int cost,
+      @Value("${hilite.security.password.target-hash-time:250ms}") Duration targetHashTime,
+      @Value("${hilite.security.password.min-cost:10}") int minCost,
+      @Value("${hilite.security.password.max-cost:14}") int maxCost) {
+    int bcryptCost =
+        cost > 0
+            ? cost
+            : AdaptiveBCryptPasswordEncoder.calibrate(targetHashTime, minCost, maxCost);
+    log.info("Using BCrypt cost {} (target hash time {})", bcryptCost, targetHashTime);
+
+    AdaptiveBCryptPasswordEncoder bcrypt = new AdaptiveBCryptPasswordEncoder(bcryptCost);
+    DelegatingPasswordEncoder encoder =
+        new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, bcrypt));
+    // 접두사 없이 저장된 기존 해시
+    encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    return encoder;
+  }
+}
@@ -0,0 +1,54 @@
+package org.example.hilite.config;
+
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.service.AuthorizationDecisionCache;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link DynamicAuthorizationManager}의 WebFlux 버전.
+ *
+ * <p>권한 판단은 메모리에 올려 둔 {@link AuthorizationDecisionCache}만 보므로 이벤트 루프에서 바로 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveDynamicAuthorizationManager
+    implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+  private final AuthorizationDecisionCache authorizationDecisionCache;
+
+  @Override
+  public Mono<AuthorizationDecision> check(
+      Mono<Authentication> authentication, AuthorizationContext context) {
+    String requestPath = context.getExchange().getRequest().getPath().value();
+
+    return authentication
+        .filter(Authentication::isAuthenticated)
+        .map(auth -> decide(auth, requestPath))
+        // 인증되지 않은 사용자
+        .defaultIfEmpty(new AuthorizationDecision(false));
+  }
+
+  private AuthorizationDecision decide(Authentication auth, String requestPath) {
+    Collection<String> userRoles =
+        auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+
+    boolean hasPermission = authorizationDecisionCache.hasPermission(requestPath, userRoles);
+
+    log.debug(
+        "Authorization decision for user: {} with roles: {} for path {}: {}",
+        auth.getName(),
+        userRoles,
+        requestPath,
+        hasPermission);
+    return new AuthorizationDecision(hasPermission);
+  }
+}
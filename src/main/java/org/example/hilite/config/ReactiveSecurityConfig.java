@@ -0,0 +1,80 @@
+package org.example.hilite.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.hilite.common.util.JwtUtil;
+import org.example.hilite.filter.ReactiveJwtFilter;
+import org.example.hilite.service.CustomUserDetailsService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.ReactiveAuthenticationManagerAdapter;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+/**
+ * reactive 프로필의 보안 설정. {@link SecurityConfig}와 같은 규칙을 WebFlux 필터 체인으로 옮겼다.
+ *
+ * <p>JWT 인증은 {@link ReactiveJwtFilter}, 경로별 권한은 {@link ReactiveDynamicAuthorizationManager}가 맡는다.
+ * 세션을 쓰지 않으므로 SecurityContext는 요청마다 토큰에서 다시 만든다.
+ *
+ * <p>관리 API({@code /admin/**}, {@code /api/admin/permissions/**})는 서블릿 스택에만 있다. 이 프로필에서는 권한 검사를
+ * 통과해도 처리할 컨트롤러가 없어 404가 되므로, 관리 API는 기본 프로필로 띄운 서버에서 호출한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+  private final JwtUtil jwtUtil;
+  private final CustomUserDetailsService userDetailsService;
+  private final ReactiveDynamicAuthorizationManager reactiveDynamicAuthorizationManager;
+
+  /** 로그인 API가 쓰는 인증 관리자. 서블릿 스택처럼 AuthenticationConfiguration이 없으므로 직접 만든다. */
+  @Bean
+  public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+    provider.setUserDetailsService(userDetailsService);
+    // 서블릿 스택은 스프링 부트가 UserDetailsPasswordService 빈을 찾아 연결한다
+    provider.setUserDetailsPasswordService(userDetailsService);
+    return new ProviderManager(provider);
+  }
+
+  /** 이 빈이 있어야 스프링 부트가 임시 비밀번호를 가진 기본 사용자를 만들지 않는다 */
+  @Bean
+  public ReactiveAuthenticationManager reactiveAuthenticationManager(
+      AuthenticationManager authenticationManager) {
+    return new ReactiveAuthenticationManagerAdapter(authenticationManager);
+  }
+
+  @Bean
+  public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
+    return http.csrf(ServerHttpSecurity.CsrfSpec::disable)
+        .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+        .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+        .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+        .authorizeExchange(
+            exchange ->
+                exchange
+                    .pathMatchers(HttpMethod.OPTIONS, "/**")
+                    .permitAll()
+                    .pathMatchers("/login", "/signup", "/check-email", "/check-username", "/test")
+                    .permitAll()
+                    // 동적 권한 관리를 위한 설정
+                    .anyExchange()
+                    .access(reactiveDynamicAuthorizationManager))
+        .addFilterAt(
+            new ReactiveJwtFilter(jwtUtil, userDetailsService),
+            SecurityWebFiltersOrder.AUTHENTICATION)
+        .build();
+  }
+}
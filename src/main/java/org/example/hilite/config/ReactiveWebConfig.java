@@ -0,0 +1,54 @@
+package org.example.hilite.config;
+
+import java.net.InetSocketAddress;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/** reactive 프로필의 웹 서버 설정 */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+  /** 서블릿 스택용 톰캣이 클래스패스에 함께 있으면 스프링 부트는 톰캣을 고르므로 Netty를 직접 지정한다 */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+    return new NettyReactiveWebServerFactory();
+  }
+
+  @Override
+  public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+    configurer.addCustomResolver(new ClientAddressArgumentResolver());
+  }
+
+  private static final class ClientAddressArgumentResolver
+      implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+      return parameter.getParameterType() == ClientAddress.class;
+    }
+
+    @Override
+    public Mono<Object> resolveArgument(
+        MethodParameter parameter, BindingContext bindingContext, ServerWebExchange exchange) {
+      InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+      if (remote == null) {
+        return Mono.just(ClientAddress.UNKNOWN);
+      }
+      return Mono.just(
+          new ClientAddress(
+              remote.getAddress() != null
+                  ? remote.getAddress().getHostAddress()
+                  : remote.getHostString()));
+    }
+  }
+}
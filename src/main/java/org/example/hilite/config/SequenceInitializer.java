@@ -0,0 +1,67 @@
+package org.example.hilite.config;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * IDENTITY에서 pooled 시퀀스로 바꾼 테이블의 시퀀스를 기존 최대 id 뒤로 옮긴다.
+ *
+ * <p>MySQL에는 시퀀스가 없어 Hibernate가 next_val 열 하나짜리 테이블로 흉내 내고, 처음 만들 때 1부터 시작한다. 이미 행이 있는 테이블에서는 첫
+ * INSERT가 기존 키와 부딪치므로 시작할 때 MAX(id)를 읽어 next_val을 그 뒤로 올린다. pooled optimizer는 읽은 값을 블록의 끝으로 보고
+ * allocationSize만큼 앞에서부터 키를 나눠 주므로 최대 id에 allocationSize를 더한 값보다 크게 둔다. 값은 올리기만 하므로 이미 쓰고 있는 시퀀스나
+ * 동시에 시작한 다른 서버와 부딪치지 않는다.
+ *
+ * <p>진짜 시퀀스를 쓰는 DB(H2 등)는 스키마를 새로 만드는 테스트 환경이라 건드리지 않는다. 기본 데이터를 넣기 전에 끝나야 하므로 {@link
+ * DataInitializer}가 이 빈에 의존한다.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceInitializer {
+
+  // 엔티티의 @SequenceGenerator와 같은 값
+  private static final List<PooledSequence> SEQUENCES =
+      List.of(
+          new PooledSequence("member_seq", "member", 100),
+          new PooledSequence("member_role_seq", "member_role", 100),
+          new PooledSequence("chat_message_seq", "chat_message", 100));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @PostConstruct
+  public void init() {
+    String database =
+        jdbcTemplate.execute(
+            (ConnectionCallback<String>)
+                connection -> connection.getMetaData().getDatabaseProductName());
+    if (database == null || !database.toLowerCase(Locale.ROOT).contains("mysql")) {
+      log.debug("Skipping sequence initialization for {}", database);
+      return;
+    }
+
+    for (PooledSequence sequence : SEQUENCES) {
+      Long maxId =
+          jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + sequence.table(), Long.class);
+      if (maxId == null) {
+        continue;
+      }
+      long floor = maxId + sequence.allocationSize() + 1;
+      int updated =
+          jdbcTemplate.update(
+              "UPDATE " + sequence.name() + " SET next_val = ? WHERE next_val < ?", floor, floor);
+      if (updated > 0) {
+        log.info("Moved {} past {}.id {} to {}", sequence.name(), sequence.table(), maxId, floor);
+      }
+    }
+  }
+
+  private record PooledSequence(String name, String table, int allocationSize) {}
+}
@@ -0,0 +1,85 @@
+package org.example.hilite.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** 서블릿 스택의 MVC 설정 */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+
+  private final Duration longStreamTimeout;
+
+  public WebConfig(@Value("${hilite.web.long-stream-timeout:30m}") Duration longStreamTimeout) {
+    this.longStreamTimeout = longStreamTimeout;
+  }
+
+  @Override
+  public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+    resolvers.add(new ClientAddressArgumentResolver());
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.registerCallableInterceptors(
+        new LongStreamTimeoutInterceptor(longStreamTimeout.toMillis()));
+  }
+
+  // StreamingResponseBody는 Callable로 처리되므로 비동기 처리를 시작하기 직전에 @LongRunningStream 핸들러의 타임아웃만 바꾼다
+  private static final class LongStreamTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private final long timeoutMillis;
+
+    private LongStreamTimeoutInterceptor(long timeoutMillis) {
+      this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+      Object handler =
+          request.getAttribute(
+              HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+      if (handler instanceof HandlerMethod method
+          && method.hasMethodAnnotation(LongRunningStream.class)
+          && request instanceof AsyncWebRequest asyncRequest) {
+        asyncRequest.setTimeout(timeoutMillis);
+      }
+    }
+  }
+
+  private static final class ClientAddressArgumentResolver
+      implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+      return parameter.getParameterType() == ClientAddress.class;
+    }
+
+    @Override
+    public Object resolveArgument(
+        MethodParameter parameter,
+        ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest,
+        WebDataBinderFactory binderFactory) {
+      HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+      return request != null ? new ClientAddress(request.getRemoteAddr()) : ClientAddress.UNKNOWN;
+    }
+  }
+}
@@ -5,18 +5,27 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.hilite.common.exception.ApiErrorResponse;
+import org.example.hilite.config.LongRunningStream;
 import org.example.hilite.dto.reqeust.ProtectedPageRequestDto;
 import org.example.hilite.dto.reqeust.RoleRequestDto;
+import org.example.hilite.dto.response.MemberPageResponseDto;
 import org.example.hilite.dto.response.MemberResponseDto;
 import org.example.hilite.dto.response.ProtectedPageResponseDto;
 import org.example.hilite.dto.response.RoleResponseDto;
 import org.example.hilite.service.AccessPageService;
+import org.example.hilite.service.MemberImportReader;
+import org.example.hilite.service.MemberImportService;
 import org.example.hilite.service.MemberService;
 import org.example.hilite.service.RoleService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -25,20 +34,29 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/admin")
 @RequiredArgsConstructor
 @Slf4j
 @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AdminController {
 
+  private static final String NDJSON_VALUE = "application/x-ndjson";
+  private static final int MAX_MEMBER_PAGE_SIZE = 500;
+
   private final RoleService roleService;
   private final AccessPageService accessPageService;
   private final MemberService memberService;
+  private final MemberImportService memberImportService;
 
   @PostMapping("/roles")
   @Operation(summary = "권한 생성", description = "권한을 생성합니다.")
@@ -68,6 +86,30 @@ public class AdminController {
     return ResponseEntity.noContent().build();
   }
 
+  @PutMapping("/roles/{id}/parents/{parentId}")
+  @Operation(summary = "역할 상속 추가", description = "역할이 부모 역할의 권한을 물려받게 합니다.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "역할 상속 추가 성공",
+            content = {@Content(schema = @Schema(implementation = RoleResponseDto.class))}),
+        @ApiResponse(
+            responseCode = "400",
+            description = "없는 역할이거나 상속에 순환이 생김",
+            content = {@Content(schema = @Schema(implementation = ApiErrorResponse.class))})
+      })
+  public ResponseEntity<RoleResponseDto> addRoleParent(
+      @PathVariable Long id, @PathVariable Long parentId) {
+    return ResponseEntity.ok(roleService.addParent(id, parentId));
+  }
+
+  @DeleteMapping("/roles/{id}/parents/{parentId}")
+  public ResponseEntity<RoleResponseDto> removeRoleParent(
+      @PathVariable Long id, @PathVariable Long parentId) {
+    return ResponseEntity.ok(roleService.removeParent(id, parentId));
+  }
+
   @PostMapping("/access-pages")
   public ResponseEntity<ProtectedPageResponseDto> createAccessPage(
       @RequestBody ProtectedPageRequestDto request) {
@@ -87,7 +129,9 @@ public class AdminController {
   }
 
   @GetMapping("/member/list")
-  @Operation(summary = "모든 회원 조회", description = "모든 회원의 기본 정보를 조회합니다. (관리자 전용)")
+  @Operation(
+      summary = "회원 목록 조회",
+      description = "id 순으로 cursor 다음 회원부터 size명을 조회합니다. 응답의 nextCursor로 다음 페이지를 요청합니다. (관리자 전용)")
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "회원 목록 조회 성공"),
@@ -96,9 +140,43 @@ public class AdminController {
             description = "권한 없음",
             content = {@Content(schema = @Schema(implementation = ApiErrorResponse.class))})
       })
-  public ResponseEntity<List<MemberResponseDto>> getAllMembers() {
-    List<MemberResponseDto> members = memberService.getAllMembers();
-    return ResponseEntity.ok(members);
+  public ResponseEntity<MemberPageResponseDto> getMembers(
+      @RequestParam(defaultValue = "0") long cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    int pageSize = Math.clamp(size, 1, MAX_MEMBER_PAGE_SIZE);
+    return ResponseEntity.ok(memberService.getMembers(cursor, pageSize));
+  }
+
+  @GetMapping(value = "/member/list", produces = NDJSON_VALUE)
+  @LongRunningStream
+  @Operation(
+      summary = "회원 전체 내보내기",
+      description = "Accept: application/x-ndjson 요청 시 전체 회원을 한 줄에 하나씩 스트리밍합니다. (관리자 전용)")
+  public ResponseEntity<StreamingResponseBody> exportMembers() {
+    StreamingResponseBody body = memberService::exportMembers;
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+  }
+
+  @PostMapping(
+      value = "/member/import",
+      consumes = {"text/csv", NDJSON_VALUE},
+      produces = NDJSON_VALUE)
+  @LongRunningStream
+  @Operation(
+      summary = "회원 일괄 등록",
+      description = "CSV 또는 NDJSON 본문을 읽는 대로 등록하고 행마다 결과를 한 줄씩 스트리밍합니다. (관리자 전용)")
+  public ResponseEntity<StreamingResponseBody> importMembers(
+      @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+      throws IOException {
+    // 형식이나 CSV 헤더가 잘못되면 응답을 시작하기 전에 400으로 끝낸다
+    MemberImportReader reader = memberImportService.open(body, contentType);
+    StreamingResponseBody response =
+        out -> {
+          try (reader) {
+            memberImportService.importMembers(reader, out);
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(response);
   }
 
   @GetMapping("/member/{username}")
@@ -1,14 +1,19 @@
 package org.example.hilite.controller;
 
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.hilite.common.exception.CustomException;
 import org.example.hilite.common.exception.ErrorCode;
 import org.example.hilite.common.util.JwtUtil;
+import org.example.hilite.config.ClientAddress;
+import org.example.hilite.config.LoginAttemptThrottle;
+import org.example.hilite.config.LoginHashExecutor;
 import org.example.hilite.dto.reqeust.LoginRequestDto;
 import org.example.hilite.dto.reqeust.SignupRequestDto;
 import org.example.hilite.dto.response.LoginResponseDto;
@@ -23,6 +28,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -31,34 +37,48 @@ import org.springframework.web.bind.annotation.RestController;
 public class AuthController {
 
   private final AuthenticationManager authenticationManager;
+  private final LoginAttemptThrottle loginAttemptThrottle;
+  private final LoginHashExecutor loginHashExecutor;
   private final UserDetailsService userDetailsService;
   private final MemberService memberService;
   private final JwtUtil jwtUtil;
 
+  /**
+   * 비밀번호 검증은 {@link LoginHashExecutor}에서 하고 요청 스레드는 바로 돌려준다. 해시 대기열이 가득 차면 503으로 거절한다. 저장된 해시의
+   * 형식이나 cost가 현재 설정과 다르면 인증 중에 새 해시로 바꿔 저장한다.
+   *
+   * <p>최근 실패가 많은 아이디나 주소는 {@link LoginAttemptThrottle}이 회원 조회와 해시 전에 429로 거절한다.
+   */
   @PostMapping("/login")
-  public ResponseEntity<?> login(@Valid @RequestBody LoginRequestDto loginRequestDto) {
+  public CompletableFuture<ResponseEntity<LoginResponseDto>> login(
+      @Valid @RequestBody LoginRequestDto loginRequestDto,
+      @Parameter(hidden = true) ClientAddress clientAddress) {
     // GlobalExceptionHandler 로그인에 대한 인증 예외를 처리
-    Authentication authentication;
-    try {
-      authentication =
-          authenticationManager.authenticate(
-              new UsernamePasswordAuthenticationToken(
-                  loginRequestDto.username(), loginRequestDto.password()));
-    } catch (BadCredentialsException e) {
-      throw new CustomException(ErrorCode.LOGIN_FAILED);
-    }
-
-    UserDetails user = (UserDetails) authentication.getPrincipal();
-    String token = jwtUtil.generateToken(user.getUsername());
-
-    log.info("Member logged in successfully: {}", user.getUsername());
-
-    return ResponseEntity.ok(new LoginResponseDto(token, user.getUsername(), "로그인이 완료되었습니다."));
+    LoginAttemptThrottle.Attempt attempt =
+        loginAttemptThrottle.acquire(loginRequestDto.username(), clientAddress.value());
+    return loginHashExecutor
+        .submit(() -> authenticate(loginRequestDto, attempt))
+        // 대기열에서 거절된 시도도 예약을 푼다
+        .whenComplete((user, e) -> attempt.release())
+        .thenApply(
+            user -> {
+              String token = jwtUtil.generateToken(user);
+              log.info("Member logged in successfully: {}", user.getUsername());
+              return ResponseEntity.ok(
+                  new LoginResponseDto(token, user.getUsername(), "로그인이 완료되었습니다."));
+            });
   }
 
+  /** 가입할 수 있는 이메일이면 true. 가입된 적 없는 이메일은 대부분 DB를 조회하지 않고 답한다. */
   @GetMapping("/check-email")
-  public ResponseEntity<Boolean> checkEmail(String email) {
-    return ResponseEntity.ok(true);
+  public ResponseEntity<Boolean> checkEmail(@RequestParam String email) {
+    return ResponseEntity.ok(memberService.isEmailAvailable(email));
+  }
+
+  /** 가입할 수 있는 아이디면 true */
+  @GetMapping("/check-username")
+  public ResponseEntity<Boolean> checkUsername(@RequestParam String username) {
+    return ResponseEntity.ok(memberService.isUsernameAvailable(username));
   }
 
   @PostMapping("/signup")
@@ -74,4 +94,19 @@ public class AuthController {
     memberService.signup(requestDto);
     return "회원가입이 완료되었습니다.";
   }
+
+  private UserDetails authenticate(
+      LoginRequestDto loginRequestDto, LoginAttemptThrottle.Attempt attempt) {
+    Authentication authentication;
+    try {
+      authentication =
+          authenticationManager.authenticate(
+              new UsernamePasswordAuthenticationToken(
+                  loginRequestDto.username(), loginRequestDto.password()));
+    } catch (BadCredentialsException e) {
+      attempt.recordFailure();
+      throw new CustomException(ErrorCode.LOGIN_FAILED);
+    }
+    return (UserDetails) authentication.getPrincipal();
+  }
 }
@@ -1,30 +1,33 @@
 package org.example.hilite.controller;
 
 import java.time.LocalDateTime;
-import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.config.ChatStreamExecutor;
 import org.example.hilite.dto.reqeust.ChatRequestDto;
 import org.example.hilite.dto.reqeust.ChatResponseDto;
 import org.example.hilite.service.ChatBotService;
+import org.example.hilite.service.ChatStreamSession;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Slf4j
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ChatBotController {
 
   private final ChatBotService chatBotService;
+  private final ChatStreamExecutor chatStreamExecutor;
 
   /** 일반 채팅 API - 즉시 응답 */
   @PostMapping("/chat")
@@ -48,38 +51,47 @@ public class ChatBotController {
     }
   }
 
-  /** 스트리밍 채팅 API - SSE를 통한 실시간 응답 */
+  /**
+   * 스트리밍 채팅 API - SSE를 통한 실시간 응답.
+   *
+   * <p>끊긴 연결을 Last-Event-ID 헤더와 함께 다시 요청하면 응답을 새로 만들지 않고 다음 청크부터 이어 보낸다.
+   */
   @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-  public SseEmitter streamChat(@RequestBody ChatRequestDto request) {
+  public SseEmitter streamChat(
+      @RequestBody ChatRequestDto request,
+      @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
     SseEmitter emitter = new SseEmitter(30000L); // 30초 타임아웃
-    
-    // SecurityContext를 현재 스레드에서 복사
+    if (lastEventId != null && chatBotService.resumeStreamingChat(request, lastEventId, emitter)) {
+      return emitter;
+    }
+    ChatStreamSession session = new ChatStreamSession();
+
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    String username = authentication != null ? authentication.getName() : "anonymous";
 
-    // 비동기 처리
-    CompletableFuture.runAsync(
-        () -> {
-          try {
-            // 새로운 SecurityContext 생성하고 Authentication 설정
-            SecurityContext newContext = new SecurityContextImpl();
-            newContext.setAuthentication(authentication);
-            SecurityContextHolder.setContext(newContext);
-            
-            log.info("User in async thread: {}", authentication != null ? authentication.getName() : "null");
-            chatBotService.processStreamingChat(request, emitter);
-          } catch (Exception e) {
-            log.error("Error in streaming chat", e);
-            try {
-              emitter.completeWithError(e);
-            } catch (Exception emitterEx) {
-              log.error("Error completing emitter with error", emitterEx);
-            }
-          } finally {
-            // SecurityContext 정리
-            SecurityContextHolder.clearContext();
-          }
-        });
+    // 전용 가상 스레드에서 처리하며 SecurityContext는 실행기가 옮겨 준다
+    boolean accepted =
+        chatStreamExecutor.submit(
+            username,
+            session,
+            () -> {
+              try {
+                log.info("User in async thread: {}", username);
+                chatBotService.processStreamingChat(request, session, emitter);
+              } catch (Exception e) {
+                log.error("Error in streaming chat", e);
+                session.close();
+                try {
+                  emitter.completeWithError(e);
+                } catch (Exception emitterEx) {
+                  log.error("Error completing emitter with error", emitterEx);
+                }
+              }
+            });
 
+    if (!accepted) {
+      chatBotService.rejectStreamingChat(request, emitter);
+    }
     return emitter;
   }
 
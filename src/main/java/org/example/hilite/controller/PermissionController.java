@@ -7,6 +7,7 @@ import lombok.RequiredArgsConstructor;
 import org.example.hilite.dto.reqeust.RolePagePermissionRequestDto;
 import org.example.hilite.dto.response.RolePagePermissionResponseDto;
 import org.example.hilite.service.RolePagePermissionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/admin/permissions")
 @RequiredArgsConstructor
 @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @Tag(name = "권한 관리", description = "동적 권한 관리 API")
 public class PermissionController {
 
@@ -0,0 +1,146 @@
+package org.example.hilite.controller;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.config.ChatStreamExecutor;
+import org.example.hilite.dto.reqeust.ChatRequestDto;
+import org.example.hilite.dto.reqeust.ChatResponseDto;
+import org.example.hilite.dto.reqeust.StreamingChatResponseDto;
+import org.example.hilite.service.ChatBotService;
+import org.example.hilite.service.ChatStreamSession;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * reactive 프로필의 채팅 API. {@link ChatBotController}와 같은 경로와 응답 형식을 WebFlux로 제공한다.
+ *
+ * <p>연결마다 스레드를 잡아 두지 않으므로 동시 연결 수는 소켓과 이벤트 버퍼 메모리에만 묶인다. 응답 생성은 블로킹 백엔드 호출이 섞여 있어
+ * {@link ChatStreamExecutor}의 가상 스레드에서 하고, 이벤트 루프는 전송만 맡는다.
+ *
+ * <p>클라이언트가 읽는 속도보다 토큰이 빨리 만들어지면 연결마다 buffer-size개까지만 쌓아 두고, 넘치면 서블릿 스택의 disconnect 정책처럼 스트림을
+ * 끊는다. 토큰을 버리면 응답 문장이 깨지므로 버리지 않는다.
+ */
+@Slf4j
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveChatBotController {
+
+  // 서블릿 스택의 SseEmitter 타임아웃과 같다
+  private static final Duration STREAM_TIMEOUT = Duration.ofSeconds(30);
+
+  private final ChatBotService chatBotService;
+  private final ChatStreamExecutor chatStreamExecutor;
+  private final int bufferSize;
+  private final Counter overflows;
+
+  public ReactiveChatBotController(
+      ChatBotService chatBotService,
+      ChatStreamExecutor chatStreamExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${hilite.chat.stream.outbound.buffer-size:32}") int bufferSize) {
+    this.chatBotService = chatBotService;
+    this.chatStreamExecutor = chatStreamExecutor;
+    this.bufferSize = bufferSize;
+    this.overflows =
+        Counter.builder("chat.stream.overflow").tag("policy", "disconnect").register(meterRegistry);
+  }
+
+  /** 일반 채팅 API - 대화 기록 조회가 DB를 거칠 수 있으므로 이벤트 루프 밖에서 처리한다 */
+  @PostMapping("/chat")
+  public Mono<ResponseEntity<ChatResponseDto>> chat(@RequestBody ChatRequestDto request) {
+    log.debug("Received chat request: {}", request.getMessage());
+
+    return currentUsername()
+        .publishOn(Schedulers.boundedElastic())
+        .map(username -> ResponseEntity.ok(chatBotService.processChat(request, username)))
+        .onErrorResume(
+            e -> {
+              log.error("Error processing chat request", e);
+              ChatResponseDto errorResponse =
+                  ChatResponseDto.builder()
+                      .message(request.getMessage())
+                      .botResponse("죄송합니다. 처리 중 오류가 발생했습니다.")
+                      .sessionId(request.getSessionId())
+                      .timestamp(LocalDateTime.now())
+                      .status("ERROR")
+                      .build();
+              return Mono.just(ResponseEntity.internalServerError().body(errorResponse));
+            });
+  }
+
+  /**
+   * 스트리밍 채팅 API - 토큰마다 SSE "message" 이벤트를 보낸다.
+   *
+   * <p>클라이언트가 연결을 끊거나 타임아웃이 지나면 구독이 취소되고, 이때 생성 세션을 닫아 백엔드 호출과 동시 세션 슬롯을 정리한다.
+   */
+  @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<ServerSentEvent<StreamingChatResponseDto>> streamChat(
+      @RequestBody ChatRequestDto request) {
+    return currentUsername()
+        .flatMapMany(
+            username ->
+                Flux.<ServerSentEvent<StreamingChatResponseDto>>create(
+                        events -> startStream(request, username, events),
+                        FluxSink.OverflowStrategy.ERROR)
+                    // 대기열은 여기서만 둔다. 가득 차면 에러로 끝나고 구독 취소가 생성 세션을 닫는다
+                    .onBackpressureBuffer(bufferSize, dropped -> overflows.increment()))
+        .take(STREAM_TIMEOUT);
+  }
+
+  /** 헬스 체크 API */
+  @GetMapping("/health")
+  public Mono<ResponseEntity<String>> health() {
+    return Mono.just(ResponseEntity.ok("ChatBot service is running"));
+  }
+
+  private void startStream(
+      ChatRequestDto request,
+      String username,
+      FluxSink<ServerSentEvent<StreamingChatResponseDto>> events) {
+    ChatStreamSession session = new ChatStreamSession();
+    events.onDispose(session::close);
+
+    boolean accepted =
+        chatStreamExecutor.submit(
+            username,
+            session,
+            () -> {
+              try {
+                chatBotService.processReactiveStreamingChat(request, username, session, events);
+              } catch (Exception e) {
+                log.error("Error in reactive streaming chat", e);
+                session.close();
+                events.error(e);
+              }
+            });
+
+    if (!accepted) {
+      events.next(chatBotService.rejectionEvent(request));
+      events.complete();
+    }
+  }
+
+  private Mono<String> currentUsername() {
+    return ReactiveSecurityContextHolder.getContext()
+        .mapNotNull(SecurityContext::getAuthentication)
+        .map(Authentication::getName)
+        .defaultIfEmpty("anonymous");
+  }
+}
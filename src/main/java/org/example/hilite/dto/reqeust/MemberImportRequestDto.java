@@ -0,0 +1,13 @@
+package org.example.hilite.dto.reqeust;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/** 일괄 등록할 회원 한 명. CSV 한 줄 또는 NDJSON 한 줄에 해당한다. */
+public record MemberImportRequestDto(
+    @NotBlank(message = "아이디는 필수 입력값입니다.") String username,
+    @NotBlank(message = "이메일은 필수 입력값입니다.") @Email(message = "올바른 이메일 형식이 아닙니다.") String email,
+    @NotBlank(message = "비밀번호는 필수 입력값입니다.")
+        @Size(min = 8, max = 20, message = "비밀번호는 8자 이상 20자 이하로 입력하세요.")
+        String password) {}
@@ -0,0 +1,13 @@
+package org.example.hilite.dto.response;
+
+/** 일괄 등록 결과 한 줄. line은 요청 본문에서의 줄 번호다. */
+public record MemberImportResultDto(long line, String username, Status status, String message) {
+
+  public enum Status {
+    CREATED,
+    DUPLICATE_USERNAME,
+    DUPLICATE_EMAIL,
+    INVALID,
+    FAILED
+  }
+}
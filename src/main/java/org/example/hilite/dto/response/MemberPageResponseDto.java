@@ -0,0 +1,6 @@
+package org.example.hilite.dto.response;
+
+import java.util.List;
+
+/** nextCursor가 null이면 마지막 페이지다 */
+public record MemberPageResponseDto(List<MemberResponseDto> members, Long nextCursor) {}
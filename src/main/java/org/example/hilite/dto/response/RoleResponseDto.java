@@ -1,3 +1,6 @@
 package org.example.hilite.dto.response;
 
-public record RoleResponseDto(Long id, String name) {}
+import java.util.List;
+
+/** parents는 이 역할이 직접 물려받는 역할 이름이다 */
+public record RoleResponseDto(Long id, String name, List<String> parents) {}
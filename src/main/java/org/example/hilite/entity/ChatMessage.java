@@ -7,19 +7,28 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.example.hilite.common.base.BaseEntity;
 
 @Entity
+@Table(indexes = @Index(name = "idx_chat_message_session", columnList = "session_id, id"))
 @Getter
 @Setter
 @NoArgsConstructor
 public class ChatMessage extends BaseEntity {
 
+  // IDENTITY는 INSERT마다 키를 받아와야 해서 배치 INSERT가 꺼지므로 pooled 시퀀스로 키를 미리 할당한다
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chat_message_seq")
+  @SequenceGenerator(
+      name = "chat_message_seq",
+      sequenceName = "chat_message_seq",
+      allocationSize = 100)
   private Long id;
 
   @Column(name = "session_id", nullable = false)
@@ -7,6 +7,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.Getter;
@@ -17,8 +18,10 @@ import lombok.Setter;
 @Setter
 public class Member {
 
+  // 일괄 등록이 회원과 역할 INSERT를 배치로 보낼 수 있도록 pooled 시퀀스로 키를 미리 할당한다
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq")
+  @SequenceGenerator(name = "member_seq", sequenceName = "member_seq", allocationSize = 100)
   private Long id;
 
   private String username;
@@ -5,6 +5,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,8 +14,13 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class MemberRole {
 
+  // Member와 같은 이유로 IDENTITY 대신 pooled 시퀀스를 쓴다
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_role_seq")
+  @SequenceGenerator(
+      name = "member_role_seq",
+      sequenceName = "member_role_seq",
+      allocationSize = 100)
   private Long id;
 
   @ManyToOne private Member member;
@@ -5,6 +5,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import java.util.HashSet;
 import java.util.Set;
@@ -27,4 +30,12 @@ public class Role {
 
   @OneToMany(mappedBy = "role", cascade = CascadeType.ALL, orphanRemoval = true)
   private Set<RolePagePermission> pagePermissions = new HashSet<>();
+
+  // 이 역할이 권한을 물려받는 역할. 부모의 조상 권한까지 모두 물려받는다
+  @ManyToMany
+  @JoinTable(
+      name = "role_parent",
+      joinColumns = @JoinColumn(name = "role_id"),
+      inverseJoinColumns = @JoinColumn(name = "parent_id"))
+  private Set<Role> parents = new HashSet<>();
 }
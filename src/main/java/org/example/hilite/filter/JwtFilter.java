@@ -1,25 +1,58 @@
 package org.example.hilite.filter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Map;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.extern.slf4j.Slf4j;
 import org.example.hilite.common.util.JwtUtil;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+/**
+ * Bearer 토큰을 검증해 SecurityContext에 인증 정보를 넣는다.
+ *
+ * <p>인증 객체는 요청마다 새로 만든다. details 설정, eraseCredentials처럼 뒤쪽 필터나 핸들러가 바꿀 수 있는 객체라 요청 사이에 나눠 쓰면 다른
+ * 사용자의 요청에 영향을 준다. 대신 무상태 토큰의 권한 목록은 불변이므로, 같은 토큰이 반복될 때 {@link JwtUtil}이 돌려주는 같은 클레임 인스턴스를
+ * 키로 만들어 둔 목록을 다시 쓴다. 401 응답 본문은 경로를 뺀 나머지를 미리 직렬화해 둔다.
+ *
+ * <p>요청마다 남기던 INFO 로그는 없앴고, DEBUG에서 {@value #LOG_SAMPLE_RATE}건 중 한 건만 key=value 형식으로 남긴다.
+ */
+@Slf4j
 public class JwtFilter extends OncePerRequestFilter {
 
+  private static final String BEARER_PREFIX = "Bearer ";
+  private static final int LOG_SAMPLE_RATE = 100;
+  // 2의 거듭제곱이어야 한다
+  private static final int AUTHORITY_SLOTS = 1024;
+  private static final byte[] UNAUTHORIZED_PREFIX =
+      ("{\"status\":401,\"error\":\"UNAUTHORIZED\","
+              + "\"message\":\"Invalid or expired JWT token\",\"path\":\"")
+          .getBytes(UTF_8);
+  private static final byte[] UNAUTHORIZED_SUFFIX = "\"}".getBytes(UTF_8);
+
   private final JwtUtil jwtUtil;
   private final UserDetailsService userDetailsService;
+  // 클레임 인스턴스 -> 불변 권한 목록. 충돌하면 덮어쓰는 고정 크기 캐시라 메모리가 늘지 않는다.
+  private final AtomicReferenceArray<CachedAuthorities> authorities =
+      new AtomicReferenceArray<>(AUTHORITY_SLOTS);
 
   public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
     this.jwtUtil = jwtUtil;
@@ -30,49 +63,81 @@ public class JwtFilter extends OncePerRequestFilter {
   protected void doFilterInternal(
       HttpServletRequest request, HttpServletResponse response, FilterChain chain)
       throws ServletException, IOException {
-
-    logger.info("=== JWT FILTER STARTED ===");
     String header = request.getHeader("Authorization");
-    logger.info("Request URI: " + request.getRequestURI());
-    logger.info("Authorization Header: " + header);
-
-    if (header != null && header.startsWith("Bearer ")) {
-      String token = header.substring(7);
+    if (header != null && header.startsWith(BEARER_PREFIX)) {
       try {
-        String username = jwtUtil.validateAndGetUsername(token);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-          UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-          UsernamePasswordAuthenticationToken auth =
-              new UsernamePasswordAuthenticationToken(
-                  userDetails, null, userDetails.getAuthorities());
-          auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-          SecurityContextHolder.getContext().setAuthentication(auth);
+        // parseClaims가 Bearer 접두사를 떼어 낸다
+        Claims claims = jwtUtil.parseClaims(header);
+        SecurityContext context = SecurityContextHolder.getContext();
+        if (claims.getSubject() != null && context.getAuthentication() == null) {
+          Authentication auth = authenticate(claims);
+          context.setAuthentication(auth);
+          if (sampled()) {
+            log.debug(
+                "jwt_auth outcome=authenticated user={} path={} sample_rate={}",
+                auth.getName(),
+                request.getRequestURI(),
+                LOG_SAMPLE_RATE);
+          }
         }
       } catch (JwtException e) {
         // JWT 관련 예외 처리 (토큰 만료, 위조 등)
-        logger.warn("JWT authentication failed: {}", e);
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-        response
-            .getWriter()
-            .write(
-                new ObjectMapper()
-                    .writeValueAsString(
-                        Map.of(
-                            "status",
-                            401,
-                            "error",
-                            "UNAUTHORIZED",
-                            "message",
-                            "Invalid or expired JWT token",
-                            "path",
-                            request.getRequestURI())));
+        if (sampled()) {
+          log.debug(
+              "jwt_auth outcome=rejected reason={} path={} sample_rate={}",
+              e.getClass().getSimpleName(),
+              request.getRequestURI(),
+              LOG_SAMPLE_RATE);
+        }
+        writeUnauthorized(request, response);
         return; // 필터 체인을 더 이상 진행하지 않음
       }
     }
 
-    logger.info("=== JWT FILTER ENDING ===");
     chain.doFilter(request, response);
   }
+
+  private Authentication authenticate(Claims claims) {
+    String username = claims.getSubject();
+    // 폐기된 토큰인지는 캐시와 상관없이 매번 확인한다
+    List<String> roles = jwtUtil.isStateless() ? jwtUtil.getRoles(claims) : null;
+    if (roles != null) {
+      // 토큰에 담긴 역할만으로 인증 객체를 만든다. DB를 조회하지 않는다.
+      return new UsernamePasswordAuthenticationToken(username, null, authorities(claims, roles));
+    }
+
+    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+  }
+
+  private List<GrantedAuthority> authorities(Claims claims, List<String> roles) {
+    int slot = System.identityHashCode(claims) & (AUTHORITY_SLOTS - 1);
+    CachedAuthorities entry = authorities.get(slot);
+    if (entry != null && entry.claims() == claims) {
+      return entry.authorities();
+    }
+    List<GrantedAuthority> built =
+        roles.stream().<GrantedAuthority>map(SimpleGrantedAuthority::new).toList();
+    authorities.lazySet(slot, new CachedAuthorities(claims, built));
+    return built;
+  }
+
+  private static boolean sampled() {
+    return log.isDebugEnabled() && ThreadLocalRandom.current().nextInt(LOG_SAMPLE_RATE) == 0;
+  }
+
+  private static void writeUnauthorized(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    byte[] path = JsonStringEncoder.getInstance().quoteAsUTF8(request.getRequestURI());
+    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+    response.setContentType("application/json");
+    response.setContentLength(
+        UNAUTHORIZED_PREFIX.length + path.length + UNAUTHORIZED_SUFFIX.length);
+    ServletOutputStream out = response.getOutputStream();
+    out.write(UNAUTHORIZED_PREFIX);
+    out.write(path);
+    out.write(UNAUTHORIZED_SUFFIX);
+  }
+
+  private record CachedAuthorities(Claims claims, List<GrantedAuthority> authorities) {}
 }
@@ -0,0 +1,109 @@
+package org.example.hilite.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.common.util.JwtUtil;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link JwtFilter}의 WebFlux 버전. Bearer 토큰을 검증해 인증 정보를 리액터 컨텍스트에 넣는다.
+ *
+ * <p>무상태 토큰은 클레임만으로 인증 객체를 만들어 이벤트 루프에서 바로 처리한다. 회원을 조회해야 하는 토큰은 JPA 조회가 이벤트 루프를 막지 않도록
+ * boundedElastic 스케줄러에서 불러온다.
+ */
+@Slf4j
+public class ReactiveJwtFilter implements WebFilter {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final JwtUtil jwtUtil;
+  private final UserDetailsService userDetailsService;
+
+  public ReactiveJwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    this.jwtUtil = jwtUtil;
+    this.userDetailsService = userDetailsService;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+    if (header == null || !header.startsWith("Bearer ")) {
+      return chain.filter(exchange);
+    }
+
+    String username;
+    List<String> roles;
+    try {
+      Claims claims = jwtUtil.parseClaims(header.substring(7));
+      username = claims.getSubject();
+      roles = jwtUtil.isStateless() ? jwtUtil.getRoles(claims) : null;
+    } catch (JwtException e) {
+      // JWT 관련 예외 처리 (토큰 만료, 위조 등)
+      log.warn("JWT authentication failed: {}", e.toString());
+      return unauthorized(exchange);
+    }
+    if (username == null) {
+      return chain.filter(exchange);
+    }
+
+    Mono<Authentication> authentication =
+        roles != null
+            ? Mono.just(fromClaims(username, roles))
+            : Mono.fromCallable(() -> fromUserDetails(username))
+                .subscribeOn(Schedulers.boundedElastic());
+    return authentication.flatMap(
+        auth ->
+            chain
+                .filter(exchange)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)));
+  }
+
+  private Mono<Void> unauthorized(ServerWebExchange exchange) {
+    ServerHttpResponse response = exchange.getResponse();
+    response.setStatusCode(HttpStatus.UNAUTHORIZED);
+    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+    Map<String, Object> body =
+        Map.of(
+            "status",
+            401,
+            "error",
+            "UNAUTHORIZED",
+            "message",
+            "Invalid or expired JWT token",
+            "path",
+            exchange.getRequest().getPath().value());
+    return response.writeWith(
+        Mono.fromCallable(
+            () -> response.bufferFactory().wrap(OBJECT_MAPPER.writeValueAsBytes(body))));
+  }
+
+  // 토큰에 담긴 역할만으로 인증 객체를 만든다. DB를 조회하지 않는다.
+  private Authentication fromClaims(String username, List<String> roles) {
+    List<SimpleGrantedAuthority> authorities =
+        roles.stream().map(SimpleGrantedAuthority::new).toList();
+    return new UsernamePasswordAuthenticationToken(username, null, authorities);
+  }
+
+  private Authentication fromUserDetails(String username) {
+    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+  }
+}
@@ -0,0 +1,12 @@
+package org.example.hilite.repository;
+
+import java.util.List;
+import org.example.hilite.entity.ChatMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
+
+  List<ChatMessage> findBySessionIdAndUsernameOrderByIdDesc(
+      String sessionId, String username, Pageable pageable);
+}
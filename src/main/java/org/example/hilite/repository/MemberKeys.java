@@ -0,0 +1,4 @@
+package org.example.hilite.repository;
+
+/** 아이디, 이메일 중복 확인용 필터를 채울 때 쓰는 프로젝션 */
+public record MemberKeys(Long id, String username, String email) {}
@@ -0,0 +1,15 @@
+package org.example.hilite.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import org.example.hilite.dto.response.MemberResponseDto;
+
+/** 회원 목록 조회용 프로젝션. 역할 이름은 한 행에 콤마로 이어 붙여 받는다. */
+public record MemberListRow(Long id, String username, String email, String roleNames) {
+
+  public MemberResponseDto toDto() {
+    List<String> roles =
+        roleNames == null || roleNames.isEmpty() ? List.of() : Arrays.asList(roleNames.split(","));
+    return new MemberResponseDto(id, username, email, roles);
+  }
+}
@@ -1,8 +1,14 @@
 package org.example.hilite.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.example.hilite.entity.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
   Optional<Member> findByUsername(String username);
@@ -10,4 +16,37 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
   boolean existsByUsername(String username);
 
   boolean existsByEmail(String email);
+
+  /** usernames 중 이미 가입된 아이디 */
+  @Query("SELECT m.username FROM Member m WHERE m.username IN :usernames")
+  List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+  /** emails 중 이미 가입된 이메일 */
+  @Query("SELECT m.email FROM Member m WHERE m.email IN :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  /** 엔티티를 읽지 않고 비밀번호 해시만 바꾼다 */
+  @Modifying
+  @Query("UPDATE Member m SET m.password = :password WHERE m.username = :username")
+  int updatePassword(@Param("username") String username, @Param("password") String password);
+
+  /** id가 cursor보다 큰 회원을 역할과 함께 한 번의 쿼리로 조회한다. 개수는 pageable의 크기로 제한한다. */
+  @Query(
+      "SELECT new org.example.hilite.repository.MemberListRow("
+          + "m.id, m.username, m.email, LISTAGG(r.name, ',') WITHIN GROUP (ORDER BY r.name)) "
+          + "FROM Member m "
+          + "LEFT JOIN m.memberRoles mr "
+          + "LEFT JOIN mr.role r "
+          + "WHERE m.id > :cursor "
+          + "GROUP BY m.id, m.username, m.email "
+          + "ORDER BY m.id")
+  List<MemberListRow> findListRowsAfter(@Param("cursor") long cursor, Pageable pageable);
+
+  /** id가 cursor보다 큰 회원의 아이디와 이메일을 id 순으로 조회한다. 개수는 pageable의 크기로 제한한다. */
+  @Query(
+      "SELECT new org.example.hilite.repository.MemberKeys(m.id, m.username, m.email) "
+          + "FROM Member m "
+          + "WHERE m.id > :cursor "
+          + "ORDER BY m.id")
+  List<MemberKeys> findKeysAfter(@Param("cursor") long cursor, Pageable pageable);
 }
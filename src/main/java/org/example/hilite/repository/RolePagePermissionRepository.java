@@ -36,4 +36,10 @@ public interface RolePagePermissionRepository extends JpaRepository<RolePagePerm
           + "JOIN FETCH rpp.accessPage ap "
           + "WHERE r.name = :roleName")
   List<RolePagePermission> findByRoleNameWithDetails(@Param("roleName") String roleName);
+
+  @Query(
+      "SELECT rpp FROM RolePagePermission rpp "
+          + "JOIN FETCH rpp.role r "
+          + "JOIN FETCH rpp.accessPage ap")
+  List<RolePagePermission> findAllWithDetails();
 }
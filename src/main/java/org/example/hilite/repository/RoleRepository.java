@@ -1,10 +1,23 @@
 package org.example.hilite.repository;
 
+import java.util.List;
 import java.util.Optional;
 import org.example.hilite.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
   Optional<Role> findByName(String name);
+
+  @Query("SELECT r FROM Role r LEFT JOIN FETCH r.parents WHERE r.name = :name")
+  Optional<Role> findWithParentsByName(@Param("name") String name);
+
+  @Query("SELECT DISTINCT r FROM Role r LEFT JOIN FETCH r.parents")
+  List<Role> findAllWithParents();
+
+  // parentId 역할을 직접 물려받는 역할
+  @Query("SELECT r FROM Role r JOIN r.parents p WHERE p.id = :parentId")
+  List<Role> findChildren(@Param("parentId") Long parentId);
 }
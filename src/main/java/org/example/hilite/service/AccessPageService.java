@@ -2,9 +2,11 @@ package org.example.hilite.service;
 
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.example.hilite.common.event.PermissionChangedEvent;
 import org.example.hilite.dto.response.ProtectedPageResponseDto;
 import org.example.hilite.entity.AccessPage;
 import org.example.hilite.repository.AccessPageRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,6 +15,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class AccessPageService {
 
   private final AccessPageRepository accessPageRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional
   public ProtectedPageResponseDto saveAccessPage(String path) {
@@ -24,6 +27,7 @@ public class AccessPageService {
             });
 
     AccessPage saved = accessPageRepository.save(new AccessPage(path));
+    eventPublisher.publishEvent(new PermissionChangedEvent("access page created"));
     return new ProtectedPageResponseDto(saved.getId(), saved.getPath());
   }
 
@@ -42,5 +46,6 @@ public class AccessPageService {
             .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 페이지입니다."));
 
     accessPageRepository.delete(accessPage);
+    eventPublisher.publishEvent(new PermissionChangedEvent("access page deleted"));
   }
 }
@@ -0,0 +1,151 @@
+package org.example.hilite.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 키워드 -> 의도 표를 Aho-Corasick 오토마톤으로 컴파일한 분류기.
+ *
+ * <p>입력을 앞에서부터 한 번만 훑으며 모든 키워드를 동시에 찾으므로 키워드 수가 늘어도 조회 비용은 입력 길이에 비례한다. 대소문자는 문자 단위로
+ * 접어서 비교하기 때문에 소문자 문자열을 새로 만들지 않고, 조회 중에는 할당이 없다. 여러 의도의 키워드가 함께 나오면 표에서 먼저 선언된 의도를 고른다.
+ */
+public final class AhoCorasickIntentClassifier implements IntentClassifier {
+
+  private static final int NO_INTENT = Integer.MAX_VALUE;
+
+  private final String[] intents;
+  // 상태 s의 간선은 edgeChars[edgeStart[s] .. edgeStart[s + 1]) 에 문자 순으로 정렬되어 있다
+  private final int[] edgeStart;
+  private final char[] edgeChars;
+  private final int[] edgeTargets;
+  private final int[] fail;
+  // 상태 s에 도달했을 때(실패 링크로 이어진 상태 포함) 끝나는 키워드 중 가장 우선하는 의도 번호
+  private final int[] bestIntent;
+
+  private AhoCorasickIntentClassifier(
+      String[] intents,
+      int[] edgeStart,
+      char[] edgeChars,
+      int[] edgeTargets,
+      int[] fail,
+      int[] bestIntent) {
+    this.intents = intents;
+    this.edgeStart = edgeStart;
+    this.edgeChars = edgeChars;
+    this.edgeTargets = edgeTargets;
+    this.fail = fail;
+    this.bestIntent = bestIntent;
+  }
+
+  /** 의도 이름 -> 키워드 목록. 맵의 순서가 의도의 우선순위다. */
+  public static AhoCorasickIntentClassifier compile(Map<String, List<String>> keywordsByIntent) {
+    List<TreeMap<Character, Integer>> children = new ArrayList<>();
+    List<Integer> output = new ArrayList<>();
+    children.add(new TreeMap<>());
+    output.add(NO_INTENT);
+
+    String[] intents = keywordsByIntent.keySet().toArray(String[]::new);
+    for (int intent = 0; intent < intents.length; intent++) {
+      for (String keyword : keywordsByIntent.get(intents[intent])) {
+        if (keyword.isEmpty()) {
+          continue;
+        }
+        int state = 0;
+        for (int i = 0; i < keyword.length(); i++) {
+          char c = fold(keyword.charAt(i));
+          Integer next = children.get(state).get(c);
+          if (next == null) {
+            next = children.size();
+            children.get(state).put(c, next);
+            children.add(new TreeMap<>());
+            output.add(NO_INTENT);
+          }
+          state = next;
+        }
+        output.set(state, Math.min(output.get(state), intent));
+      }
+    }
+
+    int stateCount = children.size();
+    int[] edgeStart = new int[stateCount + 1];
+    for (int s = 0; s < stateCount; s++) {
+      edgeStart[s + 1] = edgeStart[s] + children.get(s).size();
+    }
+    char[] edgeChars = new char[edgeStart[stateCount]];
+    int[] edgeTargets = new int[edgeStart[stateCount]];
+    for (int s = 0; s < stateCount; s++) {
+      int e = edgeStart[s];
+      for (Map.Entry<Character, Integer> edge : children.get(s).entrySet()) {
+        edgeChars[e] = edge.getKey();
+        edgeTargets[e] = edge.getValue();
+        e++;
+      }
+    }
+
+    // 너비 우선으로 실패 링크를 만들고, 실패 링크를 따라 끝나는 키워드의 의도까지 합친다
+    int[] fail = new int[stateCount];
+    int[] bestIntent = new int[stateCount];
+    bestIntent[0] = output.get(0);
+    ArrayDeque<Integer> queue = new ArrayDeque<>();
+    for (int e = edgeStart[0]; e < edgeStart[1]; e++) {
+      int child = edgeTargets[e];
+      fail[child] = 0;
+      bestIntent[child] = output.get(child);
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+        int child = edgeTargets[e];
+        int f = fail[state];
+        int target;
+        while ((target = find(edgeStart, edgeChars, edgeTargets, f, edgeChars[e])) < 0 && f != 0) {
+          f = fail[f];
+        }
+        fail[child] = target >= 0 ? target : 0;
+        bestIntent[child] = Math.min(output.get(child), bestIntent[fail[child]]);
+        queue.add(child);
+      }
+    }
+
+    return new AhoCorasickIntentClassifier(
+        intents, edgeStart, edgeChars, edgeTargets, fail, bestIntent);
+  }
+
+  @Override
+  public String classify(CharSequence message) {
+    int best = NO_INTENT;
+    int state = 0;
+    for (int i = 0, length = message.length(); i < length; i++) {
+      char c = fold(message.charAt(i));
+      int next;
+      while ((next = find(edgeStart, edgeChars, edgeTargets, state, c)) < 0 && state != 0) {
+        state = fail[state];
+      }
+      state = next >= 0 ? next : 0;
+      best = Math.min(best, bestIntent[state]);
+      if (best == 0) {
+        // 가장 우선하는 의도는 더 볼 필요가 없다
+        break;
+      }
+    }
+    return best == NO_INTENT ? null : intents[best];
+  }
+
+  private static int find(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int state, char c) {
+    int index = Arrays.binarySearch(edgeChars, edgeStart[state], edgeStart[state + 1], c);
+    return index >= 0 ? edgeTargets[index] : -1;
+  }
+
+  // 한글처럼 대소문자가 없는 문자는 그대로 돌려준다
+  private static char fold(char c) {
+    if (c < 128) {
+      return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+    return Character.toLowerCase(c);
+  }
+}
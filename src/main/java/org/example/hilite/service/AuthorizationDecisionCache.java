@@ -0,0 +1,54 @@
+package org.example.hilite.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Collection;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.common.event.PermissionChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * (정렬된 역할 목록, 요청 URI) 별 권한 판단 결과를 보관하는 캐시.
+ *
+ * <p>키에 권한 인덱스 버전을 포함하므로 인덱스가 교체되는 도중에 계산된 결과가 새 인덱스의 결과로 읽히지 않는다. 권한 변경 이벤트를 받으면 이전 버전의 항목을 한 번에
+ * 비워 메모리를 돌려준다.
+ */
+@Service
+@Slf4j
+public class AuthorizationDecisionCache {
+
+  private final DynamicPermissionService dynamicPermissionService;
+  private final Cache<DecisionKey, Boolean> decisions;
+
+  public AuthorizationDecisionCache(
+      DynamicPermissionService dynamicPermissionService,
+      MeterRegistry meterRegistry,
+      @Value("${hilite.security.decision-cache.maximum-size:10000}") long maximumSize) {
+    this.dynamicPermissionService = dynamicPermissionService;
+    // Caffeine 기본 정책(W-TinyLFU)으로 자주 쓰이는 (역할, 경로) 조합을 남긴다
+    this.decisions = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, decisions, "authorization.decisions");
+  }
+
+  public boolean hasPermission(String requestPath, Collection<String> userRoles) {
+    List<String> sortedRoles = userRoles.stream().distinct().sorted().toList();
+    // 버전과 판단을 같은 스냅샷에서 얻어야 교체 중에 새 인덱스의 결과가 이전 버전 키로 저장되지 않는다
+    PermissionIndex index = dynamicPermissionService.currentIndex();
+    DecisionKey key = new DecisionKey(index.version(), sortedRoles, requestPath);
+
+    return decisions.get(key, k -> index.hasPermission(requestPath, sortedRoles));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPermissionChanged(PermissionChangedEvent event) {
+    log.debug("Invalidating authorization decisions: {}", event.reason());
+    decisions.invalidateAll();
+  }
+
+  private record DecisionKey(long indexVersion, List<String> roles, String path) {}
+}
@@ -0,0 +1,11 @@
+package org.example.hilite.service;
+
+/**
+ * 스트리밍 응답을 만들어 내는 AI 백엔드.
+ *
+ * <p>구현체는 응답 전체를 모으지 않고 토큰이 준비되는 대로 {@link ChatTokenSink}에 넘긴다. 세션이 닫히면 남은 생성을 멈춰야 한다.
+ */
+public interface ChatBackend {
+
+  void stream(String message, ChatStreamSession session, ChatTokenSink sink);
+}
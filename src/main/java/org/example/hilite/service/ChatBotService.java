@@ -3,19 +3,36 @@ package org.example.hilite.service;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.hilite.dto.reqeust.ChatRequestDto;
 import org.example.hilite.dto.reqeust.ChatResponseDto;
 import org.example.hilite.dto.reqeust.StreamingChatResponseDto;
+import org.example.hilite.entity.ChatMessage.MessageSender;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.FluxSink;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class ChatBotService {
 
+  private static final String REJECTED_MESSAGE = "동시에 진행할 수 있는 스트리밍 수를 초과했습니다. 잠시 후 다시 시도해 주세요.";
+  private static final String STREAM_FAILED_MESSAGE = "스트리밍 중 오류가 발생했습니다.";
+
   private final Random random = new Random();
+  private final ChatBackend chatBackend;
+  private final ChatResponseCache chatResponseCache;
+  private final ConversationContextStore conversationContextStore;
+  private final IntentClassifier intentClassifier;
+  private final SseDelivery sseDelivery;
+  private final ResumableStreamStore resumableStreamStore;
 
   // 간단한 응답 패턴들
   private final List<String> greetingResponses =
@@ -34,11 +51,25 @@ public class ChatBotService {
           "좋은 포인트입니다! 다른 궁금한 점도 있으신가요?",
           "네, 이해했습니다. 다른 도움이 필요한 것이 있을까요?");
 
+  // hilite.chat.intents에 선언된 의도 이름 -> 응답 후보
+  private final Map<String, List<String>> responsesByIntent =
+      Map.of("greeting", greetingResponses, "help", helpResponses);
+
   /** 일반 채팅 처리 */
   public ChatResponseDto processChat(ChatRequestDto request) {
+    return processChat(request, currentUsername());
+  }
+
+  /** 일반 채팅 처리. SecurityContextHolder를 쓰지 않는 리액티브 스택은 사용자 이름을 직접 넘긴다. */
+  public ChatResponseDto processChat(ChatRequestDto request, String username) {
     log.info("Processing chat for message: {}", request.getMessage());
 
-    String response = generateResponse(request.getMessage());
+    ConversationContext context =
+        conversationContextStore.context(username, request.getSessionId());
+    String response = generateResponse(request.getMessage(), context);
+
+    conversationContextStore.append(context, MessageSender.USER, request.getMessage());
+    conversationContextStore.append(context, MessageSender.BOT, response);
 
     return ChatResponseDto.builder()
         .message(request.getMessage())
@@ -49,60 +80,97 @@ public class ChatBotService {
         .build();
   }
 
-  /** 스트리밍 채팅 처리 - SSE를 통한 실시간 응답 전송 */
-  public void processStreamingChat(ChatRequestDto request, SseEmitter emitter) {
-    try {
-      log.info("Processing streaming chat for message: {}", request.getMessage());
+  /** 스트리밍 채팅 처리 - 백엔드가 만든 토큰을 도착하는 대로 SSE로 전송 */
+  public void processStreamingChat(
+      ChatRequestDto request, ChatStreamSession session, SseEmitter emitter) {
+    log.info("Processing streaming chat for message: {}", request.getMessage());
 
-      // AI 서버 응답 시뮬레이션 - 긴 응답 생성
-      String fullResponse = generateLongResponse(request.getMessage());
+    String username = currentUsername();
+    ConversationContext context =
+        conversationContextStore.context(username, request.getSessionId());
+    conversationContextStore.append(context, MessageSender.USER, request.getMessage());
 
-      // 응답을 작은 청크로 분할
-      String[] chunks = splitIntoChunks(fullResponse, 20);
+    ResumableStream stream = resumableStreamStore.open(username, session);
+    stream.attach(sseDelivery.open(emitter, stream.id(), request.getSessionId()), -1);
 
-      // 각 청크를 순차적으로 전송
-      for (int i = 0; i < chunks.length; i++) {
-        // AI 서버로부터 데이터 수신 시뮬레이션을 위한 딜레이
-        Thread.sleep(200);
+    generate(
+        request.getMessage(),
+        context,
+        session,
+        new SseTokenSink(request.getSessionId(), context, session, stream));
+  }
 
-        StreamingChatResponseDto chunkResponse =
-            StreamingChatResponseDto.builder()
-                .chunk(chunks[i])
-                .sessionId(request.getSessionId())
-                .isComplete(i == chunks.length - 1)
-                .type(i == chunks.length - 1 ? "complete" : "text")
-                .build();
+  /**
+   * 리액티브 스트리밍 채팅 처리 - 토큰을 도착하는 대로 "message" 이벤트로 events에 내보낸다.
+   *
+   * <p>전송 속도는 WebFlux가 클라이언트의 요청량에 맞춰 조절하므로 {@link SseDelivery}를 거치지 않는다. Last-Event-ID 이어 받기는 서블릿
+   * 스택에서만 지원한다.
+   */
+  public void processReactiveStreamingChat(
+      ChatRequestDto request,
+      String username,
+      ChatStreamSession session,
+      FluxSink<ServerSentEvent<StreamingChatResponseDto>> events) {
+    log.debug("Processing reactive streaming chat for message: {}", request.getMessage());
 
-        // SSE 이벤트 전송
-        emitter.send(SseEmitter.event().name("message").data(chunkResponse));
+    ConversationContext context =
+        conversationContextStore.context(username, request.getSessionId());
+    conversationContextStore.append(context, MessageSender.USER, request.getMessage());
 
-        log.debug("Sent chunk {}/{} for session: {}", i + 1, chunks.length, request.getSessionId());
-      }
+    generate(
+        request.getMessage(),
+        context,
+        session,
+        new FluxTokenSink(request.getSessionId(), context, session, events));
+  }
 
-      // 스트리밍 완료
-      emitter.complete();
-      log.info("Completed streaming chat for session: {}", request.getSessionId());
+  /**
+   * Last-Event-ID를 보낸 재연결을 끊긴 스트림에 다시 붙여 다음 청크부터 보낸다. 응답은 다시 생성하지 않는다. 스트림이 이미 사라졌거나 필요한
+   * 청크가 버퍼에서 밀려났으면 false를 반환하고, 이때는 요청을 새 스트림으로 처리하면 된다.
+   */
+  public boolean resumeStreamingChat(
+      ChatRequestDto request, String lastEventId, SseEmitter emitter) {
+    ResumableStreamStore.ResumePoint point =
+        resumableStreamStore.find(lastEventId, currentUsername());
+    if (point == null) {
+      return false;
+    }
+
+    ResumableStream stream = point.stream();
+    SseDelivery.Outbound connection =
+        sseDelivery.open(emitter, stream.id(), request.getSessionId());
+    if (!stream.attach(connection, point.lastSeq())) {
+      return false;
+    }
+    log.info("Resumed streaming chat {} after event {}", stream.id(), point.lastSeq());
+    return true;
+  }
 
-    } catch (InterruptedException e) {
-      log.error("Streaming interrupted", e);
-      Thread.currentThread().interrupt();
-      sendErrorAndComplete(emitter, request.getSessionId(), "스트리밍이 중단되었습니다.");
+  /** 동시 스트리밍 한도를 넘은 요청에 에러 이벤트를 보내고 연결을 종료 */
+  public void rejectStreamingChat(ChatRequestDto request, SseEmitter emitter) {
+    try {
+      StreamingChatResponseDto errorResponse =
+          errorResponse(request.getSessionId(), REJECTED_MESSAGE);
+
+      emitter.send(SseEmitter.event().name("error").data(errorResponse));
+      emitter.complete();
     } catch (Exception e) {
-      log.error("Error in streaming chat", e);
-      sendErrorAndComplete(emitter, request.getSessionId(), "스트리밍 중 오류가 발생했습니다.");
+      log.error("Failed to send rejection message", e);
+      emitter.completeWithError(e);
     }
   }
 
+  /** 동시 스트리밍 한도를 넘은 리액티브 요청에 보낼 에러 이벤트 */
+  public ServerSentEvent<StreamingChatResponseDto> rejectionEvent(ChatRequestDto request) {
+    return ServerSentEvent.builder(errorResponse(request.getSessionId(), REJECTED_MESSAGE))
+        .event("error")
+        .build();
+  }
+
   /** 에러 발생 시 에러 메시지 전송 후 연결 종료 */
   private void sendErrorAndComplete(SseEmitter emitter, String sessionId, String errorMessage) {
     try {
-      StreamingChatResponseDto errorResponse =
-          StreamingChatResponseDto.builder()
-              .chunk(errorMessage)
-              .sessionId(sessionId)
-              .isComplete(true)
-              .type("error")
-              .build();
+      StreamingChatResponseDto errorResponse = errorResponse(sessionId, errorMessage);
 
       emitter.send(SseEmitter.event().name("error").data(errorResponse));
 
@@ -113,61 +181,182 @@ public class ChatBotService {
     }
   }
 
-  /** 간단한 응답 생성 로직 */
-  private String generateResponse(String message) {
-    String lowerMessage = message.toLowerCase();
-
-    if (lowerMessage.contains("안녕")
-        || lowerMessage.contains("hello")
-        || lowerMessage.contains("hi")) {
-      return getRandomResponse(greetingResponses);
-    } else if (lowerMessage.contains("도움")
-        || lowerMessage.contains("help")
-        || lowerMessage.contains("문제")) {
-      return getRandomResponse(helpResponses);
-    } else {
-      return getRandomResponse(defaultResponses);
-    }
+  private static StreamingChatResponseDto errorResponse(String sessionId, String errorMessage) {
+    return StreamingChatResponseDto.builder()
+        .chunk(errorMessage)
+        .sessionId(sessionId)
+        .isComplete(true)
+        .type("error")
+        .build();
   }
 
-  /** 긴 응답 생성 (스트리밍용) */
-  private String generateLongResponse(String message) {
+  // 같은 질문에 대한 응답이 캐시에 있으면 백엔드를 부르지 않고 저장된 청크를 재생한다
+  private void generate(
+      String message, ConversationContext context, ChatStreamSession session, ChatTokenSink sink) {
+    if (!chatResponseCache.replay(context, message, sink)) {
+      chatBackend.stream(message, session, chatResponseCache.recording(context, message, sink));
+    }
+  }
 
-    String response =
-        "사용자님의 질문 '"
-            + message
-            + "'에 대해 상세히 답변드리겠습니다. "
+  /** 간단한 응답 생성 로직. 같은 세션에서 직전 응답을 그대로 반복하지 않는다. */
+  private String generateResponse(String message, ConversationContext context) {
+    String intent = intentClassifier.classify(message);
+    if (intent == null) {
+      return getRandomResponse(defaultResponses, context);
+    }
+    return getRandomResponse(responsesByIntent.getOrDefault(intent, defaultResponses), context);
+  }
 
-            // 더미 긴 응답 생성
-            + "이것은 스트리밍 응답의 예시입니다. "
-            + "실제 AI 챗봇에서는 이 부분에서 대용량의 데이터나 복잡한 분석 결과를 "
-            + "점진적으로 전송할 수 있습니다. "
-            + "WebFlux를 사용하면 이러한 스트리밍 응답을 매우 효율적으로 처리할 수 있으며, "
-            + "사용자는 전체 응답이 완료되기를 기다릴 필요 없이 "
-            + "실시간으로 응답을 받아볼 수 있습니다. "
-            + "이는 특히 ChatGPT와 같은 AI 서비스에서 많이 사용되는 패턴입니다. "
-            + "추가적인 질문이 있으시면 언제든 말씀해 주세요!";
+  // 스트리밍 작업 스레드에도 ChatStreamExecutor가 SecurityContext를 옮겨 준다
+  private String currentUsername() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null ? authentication.getName() : null;
+  }
 
+  /** 랜덤 응답 선택 */
+  private String getRandomResponse(List<String> responses, ConversationContext context) {
+    String previous = context.lastBotResponse();
+    String response = responses.get(random.nextInt(responses.size()));
+    if (response.equals(previous) && responses.size() > 1) {
+      // 직전 응답을 뺀 나머지 중에서 고른다
+      int index = responses.indexOf(previous) + 1 + random.nextInt(responses.size() - 1);
+      response = responses.get(index % responses.size());
+    }
     return response;
   }
 
-  /** 문자열을 지정된 크기의 청크로 분할 */
-  private String[] splitIntoChunks(String text, int chunkSize) {
-    int length = text.length();
-    int chunks = (length + chunkSize - 1) / chunkSize;
-    String[] result = new String[chunks];
+  /**
+   * 토큰마다 "message" 이벤트를 보내고 끝나면 빈 "complete" 이벤트로 스트림을 닫는다.
+   *
+   * <p>토큰은 {@link ResumableStream}에 순번과 함께 남은 뒤 지금 붙어 있는 연결의 {@link SseDelivery} 버퍼로 넘어간다. 연결이 끊겨도
+   * 생성은 계속되므로 클라이언트는 재연결해 이어 받을 수 있다.
+   */
+  private final class SseTokenSink implements ChatTokenSink {
+
+    private final String sessionId;
+    private final ConversationContext context;
+    private final ChatStreamSession session;
+    private final ResumableStream stream;
+    // 완료 시 기록으로 남길 전체 응답
+    private final StringBuilder response = new StringBuilder();
+    private int sent;
+
+    private SseTokenSink(
+        String sessionId,
+        ConversationContext context,
+        ChatStreamSession session,
+        ResumableStream stream) {
+      this.sessionId = sessionId;
+      this.context = context;
+      this.session = session;
+      this.stream = stream;
+    }
+
+    @Override
+    public void onToken(CharSequence token) {
+      if (session.isClosed()) {
+        return;
+      }
+      stream.append(token);
+      response.append(token);
+      sent++;
+      log.debug("Queued chunk {} for session: {}", sent, sessionId);
+    }
 
-    for (int i = 0; i < chunks; i++) {
-      int start = i * chunkSize;
-      int end = Math.min(start + chunkSize, length);
-      result[i] = text.substring(start, end);
+    @Override
+    public void onComplete() {
+      if (session.isClosed()) {
+        return;
+      }
+      // 스트리밍 완료 - 연결에는 남은 청크 뒤에 완료 이벤트가 간다
+      resumableStreamStore.complete(stream);
+      session.close();
+      conversationContextStore.append(context, MessageSender.BOT, response.toString());
+      log.info("Completed streaming chat for session: {} ({} chunks)", sessionId, sent);
     }
 
-    return result;
+    @Override
+    public void onError(Throwable error) {
+      log.error("Error in streaming chat", error);
+      if (!session.isClosed()) {
+        session.close();
+        SseDelivery.Outbound connection = stream.detach();
+        if (connection != null) {
+          connection.close();
+          sendErrorAndComplete(connection.emitter(), sessionId, STREAM_FAILED_MESSAGE);
+        }
+      }
+    }
   }
 
-  /** 랜덤 응답 선택 */
-  private String getRandomResponse(List<String> responses) {
-    return responses.get(random.nextInt(responses.size()));
+  /** 리액티브 스트림으로 토큰마다 "message" 이벤트를 내보내고, 끝나면 빈 "complete" 이벤트 뒤에 스트림을 닫는다 */
+  private final class FluxTokenSink implements ChatTokenSink {
+
+    private final String sessionId;
+    private final ConversationContext context;
+    private final ChatStreamSession session;
+    private final FluxSink<ServerSentEvent<StreamingChatResponseDto>> events;
+    // 완료 시 기록으로 남길 전체 응답
+    private final StringBuilder response = new StringBuilder();
+    private int sent;
+
+    private FluxTokenSink(
+        String sessionId,
+        ConversationContext context,
+        ChatStreamSession session,
+        FluxSink<ServerSentEvent<StreamingChatResponseDto>> events) {
+      this.sessionId = sessionId;
+      this.context = context;
+      this.session = session;
+      this.events = events;
+    }
+
+    @Override
+    public void onToken(CharSequence token) {
+      if (session.isClosed()) {
+        return;
+      }
+      String chunk = token.toString();
+      response.append(chunk);
+      sent++;
+      events.next(message(chunk, false, "text"));
+    }
+
+    @Override
+    public void onComplete() {
+      if (session.isClosed()) {
+        return;
+      }
+      session.close();
+      conversationContextStore.append(context, MessageSender.BOT, response.toString());
+      events.next(message("", true, "complete"));
+      events.complete();
+      log.info("Completed reactive streaming chat for session: {} ({} chunks)", sessionId, sent);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      log.error("Error in reactive streaming chat", error);
+      if (!session.isClosed()) {
+        session.close();
+        events.next(
+            ServerSentEvent.builder(errorResponse(sessionId, STREAM_FAILED_MESSAGE))
+                .event("error")
+                .build());
+        events.complete();
+      }
+    }
+
+    private ServerSentEvent<StreamingChatResponseDto> message(
+        String chunk, boolean complete, String type) {
+      StreamingChatResponseDto data =
+          StreamingChatResponseDto.builder()
+              .chunk(chunk)
+              .sessionId(sessionId)
+              .isComplete(complete)
+              .type(type)
+              .build();
+      return ServerSentEvent.builder(data).event("message").build();
+    }
   }
 }
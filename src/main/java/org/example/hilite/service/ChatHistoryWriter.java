@@ -0,0 +1,125 @@
+package org.example.hilite.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.entity.ChatMessage;
+import org.example.hilite.entity.ChatMessage.MessageSender;
+import org.example.hilite.repository.ChatMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 채팅 기록을 요청 스레드 밖에서 모아 저장하는 write-behind 파이프라인.
+ *
+ * <p>메시지는 크기가 제한된 큐에 쌓이고 백그라운드 스레드가 batch-size 단위로 꺼내 한 트랜잭션에서 배치 INSERT한다. 큐가 가득 차면
+ * enqueue-timeout 동안만 기다린 뒤 메시지를 버리고 dropped 카운터를 올려, 저장이 밀려도 채팅 응답이 멈추지 않게 한다. 종료 시에는 큐에 남은
+ * 메시지를 모두 저장한다.
+ */
+@Service
+@Slf4j
+public class ChatHistoryWriter {
+
+  private final ChatMessageRepository chatMessageRepository;
+  private final BlockingQueue<ChatMessage> queue;
+  private final int batchSize;
+  private final Duration enqueueTimeout;
+  private final Timer batchLatency;
+  private final Counter written;
+  private final Counter dropped;
+  private final Counter failed;
+  private final Thread writer;
+  private volatile boolean running = true;
+
+  public ChatHistoryWriter(
+      ChatMessageRepository chatMessageRepository,
+      MeterRegistry meterRegistry,
+      @Value("${hilite.chat.history.queue-capacity:10000}") int queueCapacity,
+      @Value("${hilite.chat.history.batch-size:100}") int batchSize,
+      @Value("${hilite.chat.history.enqueue-timeout:10ms}") Duration enqueueTimeout) {
+    this.chatMessageRepository = chatMessageRepository;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.enqueueTimeout = enqueueTimeout;
+    this.batchLatency = Timer.builder("chat.history.batch.latency").register(meterRegistry);
+    this.written = Counter.builder("chat.history.written").register(meterRegistry);
+    this.dropped = Counter.builder("chat.history.dropped").register(meterRegistry);
+    this.failed = Counter.builder("chat.history.failed").register(meterRegistry);
+    Gauge.builder("chat.history.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+    this.writer = Thread.ofPlatform().name("chat-history-writer").daemon().unstarted(this::drain);
+  }
+
+  @PostConstruct
+  public void start() {
+    writer.start();
+  }
+
+  /** 메시지를 저장 큐에 넣는다. 큐가 계속 가득 차 있으면 버리고 false를 반환한다. */
+  public boolean record(String sessionId, String username, MessageSender sender, String content) {
+    ChatMessage message = new ChatMessage();
+    message.setSessionId(Objects.requireNonNullElse(sessionId, "default"));
+    message.setUsername(username);
+    message.setSender(sender);
+    message.setContent(content);
+
+    try {
+      if (queue.offer(message, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+        return true;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    dropped.increment();
+    log.warn("Chat history queue is full, dropping message for session {}", sessionId);
+    return false;
+  }
+
+  /** 큐에 남은 메시지를 모두 저장할 때까지 기다린 뒤 종료한다 */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    running = false;
+    writer.join(TimeUnit.SECONDS.toMillis(30));
+    if (!queue.isEmpty()) {
+      log.warn("Chat history writer stopped with {} unsaved messages", queue.size());
+    }
+  }
+
+  private void drain() {
+    while (running || !queue.isEmpty()) {
+      try {
+        ChatMessage first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        write(batch);
+      } catch (InterruptedException e) {
+        // 종료 중이 아니면 계속 비운다. 종료 중이면 running 검사에서 남은 메시지를 마저 저장한다
+        running = false;
+      }
+    }
+  }
+
+  private void write(List<ChatMessage> batch) {
+    try {
+      batchLatency.record(() -> chatMessageRepository.saveAll(batch));
+      written.increment(batch.size());
+    } catch (RuntimeException e) {
+      failed.increment(batch.size());
+      log.error("Failed to save {} chat messages", batch.size(), e);
+    }
+  }
+}
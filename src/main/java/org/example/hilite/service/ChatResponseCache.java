@@ -0,0 +1,121 @@
+package org.example.hilite.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 정규화한 프롬프트 별로 백엔드가 만든 응답 청크를 보관하는 캐시.
+ *
+ * <p>키에 사용자와 대화 내용이 들어가지 않아 모든 사용자가 같은 항목을 공유한다. 그래서 이전 대화가 없는 세션의 첫 질문만 저장하고 재생한다. 대화
+ * 기록을 보고 만든 응답이 같은 문장을 보낸 다른 사용자에게 재생되면 안 되기 때문이다.
+ *
+ * <p>끝까지 정상 완료된 응답만 저장한다. 캐시에서 응답을 재생하면 원래 생성에 걸린 시간을 chat.response.cache.saved 타이머에 기록해 아낀 백엔드
+ * 시간을 볼 수 있게 한다.
+ */
+@Service
+public class ChatResponseCache {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\p{Punct}。？！~]+$");
+
+  private final Cache<String, CachedResponse> responses;
+  private final Timer savedBackendTime;
+
+  public ChatResponseCache(
+      MeterRegistry meterRegistry,
+      @Value("${hilite.chat.response-cache.maximum-size:1000}") long maximumSize,
+      @Value("${hilite.chat.response-cache.ttl:10m}") Duration ttl) {
+    this.responses =
+        Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+    this.savedBackendTime = Timer.builder("chat.response.cache.saved").register(meterRegistry);
+    CaffeineCacheMetrics.monitor(meterRegistry, responses, "chat.responses");
+  }
+
+  /** 캐시된 응답이 있으면 sink로 모두 흘려보내고 true를 반환한다. 이전 대화가 있으면 항상 false */
+  public boolean replay(ConversationContext context, String message, ChatTokenSink sink) {
+    if (!isContextFree(context)) {
+      return false;
+    }
+    CachedResponse cached = responses.getIfPresent(normalize(message));
+    if (cached == null) {
+      return false;
+    }
+
+    cached.chunks().forEach(sink::onToken);
+    sink.onComplete();
+    savedBackendTime.record(cached.generationTime());
+    return true;
+  }
+
+  /**
+   * 백엔드 응답을 delegate로 넘기면서 기록해 두었다가 정상 완료되면 캐시에 넣는 sink. 이전 대화가 있으면 기록하지 않고 delegate를 그대로
+   * 돌려준다.
+   */
+  public ChatTokenSink recording(
+      ConversationContext context, String message, ChatTokenSink delegate) {
+    if (!isContextFree(context)) {
+      return delegate;
+    }
+    return new RecordingSink(normalize(message), delegate);
+  }
+
+  // 호출부가 이번 질문을 먼저 context에 넣으므로 턴이 그것 하나뿐이면 이전 대화가 없다
+  static boolean isContextFree(ConversationContext context) {
+    return context.recentTurns().size() <= 1;
+  }
+
+  /** 대소문자, 유니코드 호환 문자, 연속 공백, 끝의 문장부호 차이를 무시한다 */
+  static String normalize(String message) {
+    if (message == null) {
+      return "";
+    }
+    String normalized = Normalizer.normalize(message, Normalizer.Form.NFKC);
+    normalized = WHITESPACE.matcher(normalized.strip()).replaceAll(" ");
+    normalized = TRAILING_PUNCTUATION.matcher(normalized).replaceAll("");
+    return normalized.toLowerCase(Locale.ROOT);
+  }
+
+  private record CachedResponse(List<String> chunks, Duration generationTime) {}
+
+  private final class RecordingSink implements ChatTokenSink {
+
+    private final String key;
+    private final ChatTokenSink delegate;
+    private final List<String> chunks = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+
+    private RecordingSink(String key, ChatTokenSink delegate) {
+      this.key = key;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void onToken(CharSequence token) {
+      chunks.add(token.toString());
+      delegate.onToken(token);
+    }
+
+    @Override
+    public void onComplete() {
+      Duration generationTime = Duration.ofNanos(System.nanoTime() - startNanos);
+      responses.put(key, new CachedResponse(List.copyOf(chunks), generationTime));
+      delegate.onComplete();
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      delegate.onError(error);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package org.example.hilite.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 스트리밍 채팅 응답 생성 한 건의 수명을 관리한다.
+ *
+ * <p>생성이 끝나거나 취소되면 등록된 정리 작업(예약된 청크 전송 취소, 동시 세션 슬롯 반환 등)을 한 번만 실행한다. 클라이언트 연결은
+ * {@link SseDelivery.Outbound}가 따로 관리하므로 연결이 끊겨도 생성은 바로 멈추지 않고, {@link ResumableStream}이 재연결을 기다리다가
+ * 유예 시간이 지나면 세션을 닫는다.
+ */
+public class ChatStreamSession {
+
+  private final List<Runnable> closeActions = new ArrayList<>();
+  private boolean closed;
+
+  /** 세션이 닫힐 때 실행할 작업을 등록한다. 이미 닫혔으면 바로 실행한다. */
+  public void onClose(Runnable action) {
+    synchronized (this) {
+      if (!closed) {
+        closeActions.add(action);
+        return;
+      }
+    }
+    action.run();
+  }
+
+  public synchronized boolean isClosed() {
+    return closed;
+  }
+
+  public void close() {
+    List<Runnable> actions;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      actions = List.copyOf(closeActions);
+      closeActions.clear();
+    }
+    actions.forEach(Runnable::run);
+  }
+}
@@ -0,0 +1,12 @@
+package org.example.hilite.service;
+
+/** {@link ChatBackend}가 만든 토큰을 받아 클라이언트로 전달한다 */
+public interface ChatTokenSink {
+
+  /** 토큰은 호출 동안만 유효한 뷰일 수 있으므로 보관하려면 {@code toString()}으로 복사한다 */
+  void onToken(CharSequence token);
+
+  void onComplete();
+
+  void onError(Throwable error);
+}
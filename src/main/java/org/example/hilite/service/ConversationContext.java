@@ -0,0 +1,56 @@
+package org.example.hilite.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import org.example.hilite.entity.ChatMessage.MessageSender;
+
+/** 한 사용자의 한 채팅 세션의 최근 대화. 최대 maxTurns개만 남기고 오래된 턴부터 버린다. */
+public class ConversationContext {
+
+  private final String username;
+  private final String sessionId;
+  private final int maxTurns;
+  private final Deque<Turn> turns;
+
+  ConversationContext(String username, String sessionId, int maxTurns, List<Turn> initialTurns) {
+    this.username = username;
+    this.sessionId = sessionId;
+    this.maxTurns = maxTurns;
+    this.turns = new ArrayDeque<>(maxTurns);
+    initialTurns.forEach(this::add);
+  }
+
+  public String username() {
+    return username;
+  }
+
+  public String sessionId() {
+    return sessionId;
+  }
+
+  /** 오래된 것부터 정렬된 최근 대화 스냅샷 */
+  public synchronized List<Turn> recentTurns() {
+    return List.copyOf(turns);
+  }
+
+  /** 가장 최근 봇 응답. 없으면 null */
+  public synchronized String lastBotResponse() {
+    for (var it = turns.descendingIterator(); it.hasNext(); ) {
+      Turn turn = it.next();
+      if (turn.sender() == MessageSender.BOT) {
+        return turn.content();
+      }
+    }
+    return null;
+  }
+
+  synchronized void add(Turn turn) {
+    if (turns.size() == maxTurns) {
+      turns.removeFirst();
+    }
+    turns.addLast(turn);
+  }
+
+  public record Turn(MessageSender sender, String content) {}
+}
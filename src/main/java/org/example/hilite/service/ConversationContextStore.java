@@ -0,0 +1,83 @@
+package org.example.hilite.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.entity.ChatMessage;
+import org.example.hilite.entity.ChatMessage.MessageSender;
+import org.example.hilite.repository.ChatMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * 사용자와 sessionId 별 최근 대화를 보관하는 저장소.
+ *
+ * <p>sessionId는 클라이언트가 정하므로 다른 사용자의 sessionId를 보내도 그 사용자의 대화가 보이거나 이어지지 않도록 사용자 이름과 함께 키로 쓴다.
+ * 기록에서 복원할 때도 같은 사용자가 남긴 턴만 읽는다.
+ *
+ * <p>최근에 쓰인 세션은 크기 제한이 있는 캐시에 두어 한 번의 조회로 꺼내고, idle-ttl 동안 쓰이지 않은 세션은 캐시에서 내보낸다. 모든 턴은
+ * {@link ChatHistoryWriter}를 통해 ChatMessage 테이블에 저장되므로 내보낸 세션이 다시 오면 테이블에서 최근 턴을 읽어 복원한다.
+ */
+@Service
+@Slf4j
+public class ConversationContextStore {
+
+  private final ChatMessageRepository chatMessageRepository;
+  private final ChatHistoryWriter chatHistoryWriter;
+  private final int maxTurns;
+  private final Cache<Key, ConversationContext> contexts;
+
+  public ConversationContextStore(
+      ChatMessageRepository chatMessageRepository,
+      ChatHistoryWriter chatHistoryWriter,
+      MeterRegistry meterRegistry,
+      @Value("${hilite.chat.context.max-turns:10}") int maxTurns,
+      @Value("${hilite.chat.context.maximum-sessions:100000}") long maximumSessions,
+      @Value("${hilite.chat.context.idle-ttl:30m}") Duration idleTtl) {
+    this.chatMessageRepository = chatMessageRepository;
+    this.chatHistoryWriter = chatHistoryWriter;
+    this.maxTurns = maxTurns;
+    this.contexts =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSessions)
+            .expireAfterAccess(idleTtl)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, contexts, "chat.context");
+  }
+
+  /** 사용자 세션의 대화 맥락. 사용자나 sessionId가 없으면 캐시에 두지 않는 빈 맥락을 돌려준다. */
+  public ConversationContext context(String username, String sessionId) {
+    if (username == null || sessionId == null) {
+      return new ConversationContext(username, sessionId, maxTurns, List.of());
+    }
+    return contexts.get(new Key(username, sessionId), this::loadFromHistory);
+  }
+
+  /** 맥락에 턴을 더하고 맥락 주인의 채팅 기록으로 남긴다 */
+  public void append(ConversationContext context, MessageSender sender, String content) {
+    context.add(new ConversationContext.Turn(sender, content));
+    chatHistoryWriter.record(context.sessionId(), context.username(), sender, content);
+  }
+
+  // 캐시에서 내보낸 세션이 다시 오면 저장된 기록에서 최근 턴을 복원한다
+  private ConversationContext loadFromHistory(Key key) {
+    List<ChatMessage> latest =
+        chatMessageRepository.findBySessionIdAndUsernameOrderByIdDesc(
+            key.sessionId(), key.username(), PageRequest.ofSize(maxTurns));
+    log.debug("Restored {} turns for chat session {}", latest.size(), key.sessionId());
+
+    List<ConversationContext.Turn> turns =
+        latest.reversed().stream()
+            .map(message -> new ConversationContext.Turn(message.getSender(), message.getContent()))
+            .toList();
+    return new ConversationContext(key.username(), key.sessionId(), maxTurns, turns);
+  }
+
+  private record Key(String username, String sessionId) {}
+}
@@ -1,36 +1,84 @@
 package org.example.hilite.service;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.common.event.MemberChangedEvent;
 import org.example.hilite.config.CustomUserDetails;
-import org.example.hilite.entity.Member;
 import org.example.hilite.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private final MemberRepository memberRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  // username -> 불변 스냅샷. 없는 사용자는 예외로 끝나므로 캐시되지 않는다
+  private final Cache<String, CustomUserDetails> userDetails;
+
+  public CustomUserDetailsService(
+      MemberRepository memberRepository,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry,
+      @Value("${hilite.security.user-cache.maximum-size:10000}") long maximumSize,
+      @Value("${hilite.security.user-cache.ttl:10m}") Duration ttl) {
+    this.memberRepository = memberRepository;
+    this.eventPublisher = eventPublisher;
+    this.userDetails =
+        Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, userDetails, "user.details");
+  }
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    return userDetails.get(username, this::load);
+  }
+
+  /**
+   * 로그인에 성공했는데 저장된 해시의 형식이나 cost가 현재 인코더와 다르면 DaoAuthenticationProvider가 새 해시로 호출한다. 커밋 뒤에
+   * 캐시된 스냅샷을 버려 다음 조회가 새 해시를 읽게 한다.
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    memberRepository.updatePassword(user.getUsername(), newPassword);
+    eventPublisher.publishEvent(new MemberChangedEvent(user.getUsername()));
+    log.debug("Rehashed password for member: {}", user.getUsername());
+    return user instanceof CustomUserDetails details ? details.withPassword(newPassword) : user;
+  }
+
+  /** 회원이 가입하거나 역할이 바뀌면 커밋 뒤에 캐시된 스냅샷을 버린다 */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onMemberChanged(MemberChangedEvent event) {
+    if (event.username() == null) {
+      userDetails.invalidateAll();
+    } else {
+      userDetails.invalidate(event.username());
+    }
+  }
+
+  private CustomUserDetails load(String username) {
     log.debug("Loading user by username: {}", username);
 
-    Member member =
+    CustomUserDetails loaded =
         memberRepository
             .findByUsername(username)
+            .map(CustomUserDetails::from)
             .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username));
 
-    log.debug(
-        "Found member: {} with roles: {}",
-        member.getUsername(),
-        member.getMemberRoles().stream().map(mr -> mr.getRole().getName()).toList());
-
-    return new CustomUserDetails(member);
+    log.debug("Found member: {} with roles: {}", loaded.getUsername(), loaded.getAuthorities());
+    return loaded;
   }
 }
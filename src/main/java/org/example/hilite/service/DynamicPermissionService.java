@@ -1,13 +1,16 @@
 package org.example.hilite.service;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.example.hilite.entity.RolePagePermission;
+import org.example.hilite.common.event.PermissionChangedEvent;
 import org.example.hilite.repository.RolePagePermissionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Service
 @RequiredArgsConstructor
@@ -15,42 +18,47 @@ import org.springframework.stereotype.Service;
 public class DynamicPermissionService {
 
   private final RolePagePermissionRepository rolePagePermissionRepository;
+  private final RoleService roleService;
 
-  public boolean hasPermission(String requestPath, Collection<String> userRoles) {
-    List<String> roleNames = new ArrayList<>(userRoles);
-
-    log.debug("Checking permission for path: {} with roles: {}", requestPath, roleNames);
+  // 요청 처리 시에는 DB 대신 이 스냅샷만 조회한다
+  private volatile PermissionIndex index;
+  private long nextVersion;
 
-    // 정확한 경로 매칭 먼저 확인
-    List<RolePagePermission> exactMatch =
-        rolePagePermissionRepository.findByRoleNamesAndPath(roleNames, requestPath);
+  public boolean hasPermission(String requestPath, Collection<String> userRoles) {
+    boolean hasAccess = currentIndex().hasPermission(requestPath, userRoles);
 
-    if (!exactMatch.isEmpty()) {
-      log.debug("Exact path match found for: {}", requestPath);
-      return true;
-    }
+    log.debug("Permission check for path {} with roles {}: {}", requestPath, userRoles, hasAccess);
+    return hasAccess;
+  }
 
-    // 패턴 매칭 (/** 형태)
-    List<RolePagePermission> allPermissions =
-        rolePagePermissionRepository.findByRoleNames(roleNames);
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    reload();
+  }
 
-    boolean hasAccess =
-        allPermissions.stream()
-            .anyMatch(permission -> pathMatches(permission.getAccessPage().getPath(), requestPath));
+  /** 권한 데이터 변경이 커밋된 뒤 인덱스를 다시 만든다 */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+  public void onPermissionChanged(PermissionChangedEvent event) {
+    log.debug("Reloading permission index: {}", event.reason());
+    reload();
+  }
 
-    log.debug("Pattern matching result for path {}: {}", requestPath, hasAccess);
-    return hasAccess;
+  /** 현재 인덱스 스냅샷. 판단 결과 캐시가 버전과 판단을 같은 스냅샷에서 얻을 때 쓴다. */
+  PermissionIndex currentIndex() {
+    PermissionIndex current = index;
+    return current != null ? current : reload();
   }
 
-  private boolean pathMatches(String pattern, String path) {
-    // 간단한 패턴 매칭 (Ant 스타일)
-    if (pattern.endsWith("/**")) {
-      String prefix = pattern.substring(0, pattern.length() - 3);
-      return path.startsWith(prefix);
-    } else if (pattern.endsWith("/*")) {
-      String prefix = pattern.substring(0, pattern.length() - 2);
-      return path.startsWith(prefix) && !path.substring(prefix.length()).contains("/");
-    }
-    return pattern.equals(path);
+  // 동시에 여러 변경이 들어와도 마지막으로 커밋된 데이터가 반영되도록 직렬화한다
+  private synchronized PermissionIndex reload() {
+    PermissionIndex loaded =
+        PermissionIndex.of(
+            ++nextVersion,
+            rolePagePermissionRepository.findAllWithDetails(),
+            roleService.inheritance());
+    index = loaded;
+    log.info("Permission index loaded with {} permissions", loaded.permissionCount());
+    return loaded;
   }
 }
@@ -0,0 +1,117 @@
+package org.example.hilite.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 외부 AI 서버의 토큰 스트림을 받아 그대로 전달하는 백엔드.
+ *
+ * <p>업스트림은 {@code data: <token>} 줄로 토큰을 보내고 {@code data: [DONE]}으로 끝내는 SSE 형식이다. 응답 본문을 줄 단위로 읽어
+ * 토큰이 도착하는 즉시 넘기므로 전체 응답을 모으지 않는다. {@link HttpClient}는 하나를 공유해 연결을 재사용하고 가능하면 HTTP/2를 쓴다.
+ * 읽는 동안 호출 스레드를 블로킹하므로 가상 스레드({@code ChatStreamExecutor})에서 호출한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "hilite.chat.backend.type", havingValue = "http")
+public class HttpChatBackend implements ChatBackend {
+
+  private static final String DATA_PREFIX = "data:";
+  private static final String DONE = "[DONE]";
+
+  private final HttpClient client;
+  private final URI endpoint;
+  private final Duration timeout;
+
+  public HttpChatBackend(
+      @Value("${hilite.chat.backend.url}") URI endpoint,
+      @Value("${hilite.chat.backend.timeout:30s}") Duration timeout) {
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    this.endpoint = endpoint;
+    this.timeout = timeout;
+  }
+
+  @Override
+  public void stream(String message, ChatStreamSession session, ChatTokenSink sink) {
+    HttpRequest request =
+        HttpRequest.newBuilder(endpoint)
+            .timeout(timeout)
+            .header("Content-Type", "text/plain; charset=UTF-8")
+            .header("Accept", "text/event-stream")
+            .POST(HttpRequest.BodyPublishers.ofString(message))
+            .build();
+
+    // 세션이 닫히면 읽기에서 블로킹된 스레드를 깨워 업스트림 연결을 바로 놓는다
+    Thread worker = Thread.currentThread();
+    AtomicBoolean reading = new AtomicBoolean(true);
+    session.onClose(
+        () -> {
+          if (reading.get()) {
+            worker.interrupt();
+          }
+        });
+
+    try {
+      HttpResponse<Stream<String>> response =
+          client.send(request, HttpResponse.BodyHandlers.ofLines());
+      try (Stream<String> lines = response.body()) {
+        if (response.statusCode() != 200) {
+          sink.onError(
+              new IllegalStateException("Chat backend responded " + response.statusCode()));
+          return;
+        }
+        forward(lines.iterator(), session, sink);
+      }
+    } catch (IOException | UncheckedIOException e) {
+      if (!session.isClosed()) {
+        sink.onError(e);
+      }
+    } catch (InterruptedException e) {
+      log.debug("Chat backend stream cancelled");
+    } finally {
+      reading.set(false);
+      // 취소로 남은 인터럽트 플래그를 지운다
+      Thread.interrupted();
+    }
+  }
+
+  private void forward(Iterator<String> lines, ChatStreamSession session, ChatTokenSink sink) {
+    while (!session.isClosed() && lines.hasNext()) {
+      String line = lines.next();
+      if (!line.startsWith(DATA_PREFIX)) {
+        continue;
+      }
+
+      // SSE 규칙대로 "data:" 뒤의 공백 하나만 제거한다
+      String data = line.substring(DATA_PREFIX.length());
+      if (data.startsWith(" ")) {
+        data = data.substring(1);
+      }
+      if (DONE.equals(data)) {
+        sink.onComplete();
+        return;
+      }
+      sink.onToken(data);
+    }
+
+    // [DONE] 없이 업스트림이 연결을 닫은 경우
+    if (!session.isClosed()) {
+      sink.onComplete();
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package org.example.hilite.service;
+
+/** 채팅 메시지의 의도를 분류한다 */
+public interface IntentClassifier {
+
+  /** 메시지의 의도 이름. 해당하는 의도가 없으면 null */
+  String classify(CharSequence message);
+}
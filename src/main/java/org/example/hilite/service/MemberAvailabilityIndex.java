@@ -0,0 +1,122 @@
+package org.example.hilite.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Locale;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.common.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 가입된 아이디와 이메일의 Bloom filter. 중복 확인 API에서 필터에 없으면 DB를 조회하지 않는다.
+ *
+ * <p>필터는 서버마다 따로 있고 다른 서버의 가입을 알지 못하므로 답은 안내용이다. 가입은 이 필터를 거치지 않고 DB로 중복을 확인한다.
+ *
+ * <p>시작할 때 member 테이블 전체를 넣고, 가입할 때마다 더한다. 불러오기가 끝나기 전에는 모든 조회를 DB로 보낸다. 가입이 롤백되어 필터에만 남은 값은
+ * 오탐처럼 DB 조회로 한 번 더 확인되므로 문제가 없다. MySQL 기본 정렬 규칙처럼 대소문자를 구분하지 않는 비교에서도 놓치지 않도록 소문자로 바꿔 넣는다.
+ *
+ * <p>회원 수가 expected-members를 넘으면 오탐률이 올라간다. member.availability.filter.fpp와
+ * member.availability.lookups{result=false_positive}로 확인하고 크기를 늘린다.
+ */
+@Component
+@Slf4j
+public class MemberAvailabilityIndex {
+
+  private final Field username;
+  private final Field email;
+  private volatile boolean loaded;
+
+  public MemberAvailabilityIndex(
+      MeterRegistry meterRegistry,
+      @Value("${hilite.member.availability.expected-members:1000000}") long expectedMembers,
+      @Value("${hilite.member.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+    this.username = new Field("username", expectedMembers, falsePositiveRate, meterRegistry);
+    this.email = new Field("email", expectedMembers, falsePositiveRate, meterRegistry);
+  }
+
+  /** exists가 알려 주는 DB 결과로 아이디가 비어 있는지 판단한다. 필터에 없으면 exists를 부르지 않는다. */
+  public boolean isUsernameAvailable(String value, Predicate<String> exists) {
+    return username.isAvailable(value, exists, loaded);
+  }
+
+  public boolean isEmailAvailable(String value, Predicate<String> exists) {
+    return email.isAvailable(value, exists, loaded);
+  }
+
+  public void add(String usernameValue, String emailValue) {
+    username.add(usernameValue);
+    email.add(emailValue);
+  }
+
+  /** 시작할 때 불러오기를 마쳤다고 표시한다. 이후로는 필터에 없는 값을 비어 있다고 본다. */
+  public void markLoaded(long members) {
+    loaded = true;
+    log.info("Member availability filters loaded with {} members", members);
+  }
+
+  private static final class Field {
+
+    private final BloomFilter filter;
+    private final Counter filtered;
+    private final Counter taken;
+    private final Counter falsePositive;
+    private final Counter unloaded;
+
+    private Field(
+        String name, long expectedMembers, double falsePositiveRate, MeterRegistry registry) {
+      this.filter = new BloomFilter(expectedMembers, falsePositiveRate);
+      this.filtered = lookups(registry, name, "filtered");
+      this.taken = lookups(registry, name, "taken");
+      this.falsePositive = lookups(registry, name, "false_positive");
+      this.unloaded = lookups(registry, name, "not_loaded");
+      Gauge.builder(
+              "member.availability.filter.fpp", filter, BloomFilter::expectedFalsePositiveRate)
+          .tag("field", name)
+          .register(registry);
+      Gauge.builder("member.availability.filter.memory", filter, BloomFilter::memoryBytes)
+          .tag("field", name)
+          .baseUnit("bytes")
+          .register(registry);
+    }
+
+    private boolean isAvailable(String value, Predicate<String> exists, boolean loaded) {
+      if (value == null) {
+        return false;
+      }
+      if (!loaded) {
+        unloaded.increment();
+        return !exists.test(value);
+      }
+      if (!filter.mightContain(normalize(value))) {
+        filtered.increment();
+        return true;
+      }
+      if (exists.test(value)) {
+        taken.increment();
+        return false;
+      }
+      falsePositive.increment();
+      return true;
+    }
+
+    private void add(String value) {
+      if (value != null) {
+        filter.put(normalize(value));
+      }
+    }
+
+    private static String normalize(String value) {
+      return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter lookups(MeterRegistry registry, String name, String result) {
+      return Counter.builder("member.availability.lookups")
+          .tag("field", name)
+          .tag("result", result)
+          .register(registry);
+    }
+  }
+}
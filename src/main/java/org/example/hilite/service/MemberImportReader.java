@@ -0,0 +1,169 @@
+package org.example.hilite.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import org.example.hilite.dto.reqeust.MemberImportRequestDto;
+
+/**
+ * 일괄 등록 요청 본문을 한 줄씩 읽어 {@link MemberImportRequestDto}로 바꾼다. 본문 전체를 메모리에 올리지 않는다.
+ *
+ * <p>CSV는 첫 줄이 username, email, password 열을 가진 헤더여야 하고 열 순서는 자유다. 값은 큰따옴표로 감쌀 수 있고 따옴표 안의 큰따옴표는
+ * 두 번 쓴다. 한 값이 여러 줄에 걸치는 것은 지원하지 않는다. NDJSON은 한 줄에 객체 하나다. 빈 줄은 건너뛰고, 읽을 수 없는 줄은 오류를 담은 행으로
+ * 돌려준 뒤 다음 줄을 계속 읽는다.
+ */
+public final class MemberImportReader implements Closeable {
+
+  public enum Format {
+    CSV,
+    NDJSON
+  }
+
+  /** 본문의 한 줄. request와 error 중 하나만 있다. */
+  public record Row(long line, MemberImportRequestDto request, String error) {}
+
+  private static final String BOM = "\uFEFF";
+  private static final String INVALID_JSON = "JSON 형식이 올바르지 않습니다.";
+
+  private final BufferedReader reader;
+  private final Format format;
+  private final ObjectReader jsonReader;
+  private long line;
+  private int usernameColumn = -1;
+  private int emailColumn = -1;
+  private int passwordColumn = -1;
+
+  private MemberImportReader(InputStream body, Format format, ObjectReader jsonReader) {
+    this.reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    this.format = format;
+    this.jsonReader = jsonReader;
+  }
+
+  /**
+   * CSV면 헤더까지 읽어 둔다. 헤더에 필요한 열이 없으면 {@link IllegalArgumentException}을 던진다.
+   *
+   * @param jsonReader {@link MemberImportRequestDto}를 읽는 reader. NDJSON에서만 쓴다.
+   */
+  public static MemberImportReader open(InputStream body, Format format, ObjectReader jsonReader)
+      throws IOException {
+    MemberImportReader importReader = new MemberImportReader(body, format, jsonReader);
+    if (format == Format.CSV) {
+      importReader.readHeader();
+    }
+    return importReader;
+  }
+
+  /** 다음 행. 본문이 끝나면 null. */
+  public Row next() throws IOException {
+    String text = nextLine();
+    if (text == null) {
+      return null;
+    }
+    return format == Format.CSV ? csvRow(text) : jsonRow(text);
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private void readHeader() throws IOException {
+    String text = nextLine();
+    if (text == null) {
+      throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+    }
+    // 엑셀이 붙이는 BOM은 열 이름이 아니다
+    String header = text.startsWith(BOM) ? text.substring(1) : text;
+    List<String> columns = Objects.requireNonNullElse(split(header), List.of());
+    for (int i = 0; i < columns.size(); i++) {
+      switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+        case "username" -> usernameColumn = i;
+        case "email" -> emailColumn = i;
+        case "password" -> passwordColumn = i;
+        default -> {}
+      }
+    }
+    if (usernameColumn < 0 || emailColumn < 0 || passwordColumn < 0) {
+      throw new IllegalArgumentException(
+          "CSV 헤더에 username, email, password 열이 모두 있어야 합니다.");
+    }
+  }
+
+  // 빈 줄은 건너뛴다. 줄 번호는 빈 줄도 센다
+  private String nextLine() throws IOException {
+    String text;
+    do {
+      text = reader.readLine();
+      if (text == null) {
+        return null;
+      }
+      line++;
+    } while (text.isBlank());
+    return text;
+  }
+
+  private Row csvRow(String text) {
+    List<String> values = split(text);
+    int required = Math.max(usernameColumn, Math.max(emailColumn, passwordColumn));
+    if (values == null || values.size() <= required) {
+      return new Row(line, null, "CSV 형식이 올바르지 않습니다.");
+    }
+    return new Row(
+        line,
+        new MemberImportRequestDto(
+            values.get(usernameColumn).trim(),
+            values.get(emailColumn).trim(),
+            values.get(passwordColumn)),
+        null);
+  }
+
+  private Row jsonRow(String text) {
+    try {
+      MemberImportRequestDto request = jsonReader.readValue(text);
+      return request != null ? new Row(line, request, null) : new Row(line, null, INVALID_JSON);
+    } catch (JsonProcessingException e) {
+      return new Row(line, null, INVALID_JSON);
+    }
+  }
+
+  // 따옴표가 닫히지 않은 줄은 null
+  private static List<String> split(String text) {
+    List<String> values = new ArrayList<>();
+    StringBuilder value = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          value.append(c);
+        } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+          value.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        values.add(value.toString());
+        value.setLength(0);
+      } else {
+        value.append(c);
+      }
+    }
+    if (quoted) {
+      return null;
+    }
+    values.add(value.toString());
+    return values;
+  }
+}
@@ -0,0 +1,309 @@
+package org.example.hilite.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.dto.reqeust.MemberImportRequestDto;
+import org.example.hilite.dto.response.MemberImportResultDto;
+import org.example.hilite.dto.response.MemberImportResultDto.Status;
+import org.example.hilite.entity.Member;
+import org.example.hilite.entity.Role;
+import org.example.hilite.repository.MemberRepository;
+import org.example.hilite.repository.RoleRepository;
+import org.example.hilite.service.MemberImportReader.Format;
+import org.example.hilite.service.MemberImportReader.Row;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 관리자 회원 일괄 등록.
+ *
+ * <p>요청 본문을 읽는 대로 batch-size 행씩 묶어 처리하고, 묶음이 끝날 때마다 행별 결과를 NDJSON으로 내보낸다. 한 묶음은 다음 순서로 처리한다.
+ *
+ * <ol>
+ *   <li>형식 검사와 묶음 안의 중복 제거
+ *   <li>묶음의 아이디, 이메일을 IN 쿼리 두 번으로 기존 회원과 비교
+ *   <li>비밀번호를 전용 스레드 풀에서 CPU 수만큼 나눠 해시
+ *   <li>회원과 회원 역할을 한 트랜잭션에서 saveAll. 시퀀스로 키를 미리 받으므로 hibernate.jdbc.batch_size 단위 배치 INSERT로 나간다
+ * </ol>
+ *
+ * <p>묶음마다 트랜잭션을 따로 쓰므로 영속성 컨텍스트가 본문 크기만큼 자라지 않는다. 저장에 실패한 묶음은 그 행들만 FAILED로 알리고 다음 묶음을
+ * 계속 처리한다. 앞 묶음에서 등록한 회원은 이미 커밋되어 있어 뒤 묶음의 기존 회원 비교에 걸린다.
+ */
+@Service
+@Slf4j
+public class MemberImportService {
+
+  private static final String NDJSON_VALUE = "application/x-ndjson";
+  private static final String DEFAULT_ROLE = "ROLE_USER";
+
+  private final MemberRepository memberRepository;
+  private final RoleRepository roleRepository;
+  private final PasswordEncoder passwordEncoder;
+  private final MemberAvailabilityIndex memberAvailabilityIndex;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+  private final ObjectReader requestReader;
+  private final ObjectWriter resultWriter;
+  private final ExecutorService hashExecutor;
+  private final int batchSize;
+  private final Timer batchLatency;
+  private final Map<Status, Counter> rows = new EnumMap<>(Status.class);
+
+  public MemberImportService(
+      MemberRepository memberRepository,
+      RoleRepository roleRepository,
+      PasswordEncoder passwordEncoder,
+      MemberAvailabilityIndex memberAvailabilityIndex,
+      TransactionTemplate transactionTemplate,
+      Validator validator,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${hilite.member.import.batch-size:500}") int batchSize,
+      @Value("${hilite.member.import.hash-threads:0}") int hashThreads) {
+    this.memberRepository = memberRepository;
+    this.roleRepository = roleRepository;
+    this.passwordEncoder = passwordEncoder;
+    this.memberAvailabilityIndex = memberAvailabilityIndex;
+    this.transactionTemplate = transactionTemplate;
+    this.validator = validator;
+    this.requestReader = objectMapper.readerFor(MemberImportRequestDto.class);
+    // 한 행을 쓸 때마다 응답 스트림이 닫히지 않도록 한다
+    this.resultWriter =
+        objectMapper
+            .writerFor(MemberImportResultDto.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+    this.hashExecutor =
+        Executors.newFixedThreadPool(
+            threads, Thread.ofPlatform().name("member-import-hash-", 0).daemon().factory());
+    this.batchSize = batchSize;
+    this.batchLatency = Timer.builder("member.import.batch.latency").register(meterRegistry);
+    for (Status status : Status.values()) {
+      rows.put(
+          status,
+          Counter.builder("member.import.rows")
+              .tag("status", status.name().toLowerCase(Locale.ROOT))
+              .register(meterRegistry));
+    }
+  }
+
+  /**
+   * contentType으로 형식을 고르고 CSV면 헤더까지 읽는다. 지원하지 않는 형식이거나 헤더가 잘못되면 {@link
+   * IllegalArgumentException}을 던진다.
+   */
+  public MemberImportReader open(InputStream body, String contentType) throws IOException {
+    MediaType mediaType = MediaType.parseMediaType(contentType);
+    Format format;
+    if (mediaType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+      format = Format.CSV;
+    } else if (mediaType.isCompatibleWith(MediaType.parseMediaType(NDJSON_VALUE))) {
+      format = Format.NDJSON;
+    } else {
+      throw new IllegalArgumentException(
+          "text/csv 또는 application/x-ndjson 본문만 받을 수 있습니다.");
+    }
+    return MemberImportReader.open(body, format, requestReader);
+  }
+
+  /** reader의 행을 모두 등록하고 행마다 결과를 한 줄씩 out에 쓴다 */
+  public void importMembers(MemberImportReader reader, OutputStream out) throws IOException {
+    Role defaultRole =
+        roleRepository
+            .findByName(DEFAULT_ROLE)
+            .orElseThrow(() -> new IllegalArgumentException("기본 권한이 설정되어 있지 않습니다."));
+
+    List<Row> batch = new ArrayList<>(batchSize);
+    Row row;
+    while ((row = reader.next()) != null) {
+      batch.add(row);
+      if (batch.size() == batchSize) {
+        write(importBatch(batch, defaultRole), out);
+        batch.clear();
+      }
+    }
+    if (!batch.isEmpty()) {
+      write(importBatch(batch, defaultRole), out);
+    }
+    out.flush();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    hashExecutor.shutdownNow();
+  }
+
+  private List<MemberImportResultDto> importBatch(List<Row> batch, Role defaultRole) {
+    Timer.Sample sample = Timer.start();
+    MemberImportResultDto[] results = new MemberImportResultDto[batch.size()];
+    List<Integer> accepted = validate(batch, results);
+    rejectExisting(batch, accepted, results);
+    insert(batch, accepted, defaultRole, results);
+    sample.stop(batchLatency);
+
+    for (MemberImportResultDto result : results) {
+      rows.get(result.status()).increment();
+    }
+    return List.of(results);
+  }
+
+  // 형식이 틀린 행과 묶음 안에서 앞 행과 겹치는 행을 걸러 내고 남은 행의 위치를 돌려준다
+  private List<Integer> validate(List<Row> batch, MemberImportResultDto[] results) {
+    List<Integer> accepted = new ArrayList<>(batch.size());
+    Set<String> usernames = new HashSet<>();
+    Set<String> emails = new HashSet<>();
+    for (int i = 0; i < batch.size(); i++) {
+      Row row = batch.get(i);
+      MemberImportRequestDto request = row.request();
+      String error = row.error() != null ? row.error() : firstViolation(request);
+      if (error != null) {
+        results[i] = result(row, Status.INVALID, error);
+      } else if (usernames.contains(normalize(request.username()))) {
+        results[i] = result(row, Status.DUPLICATE_USERNAME, "이미 존재하는 아이디입니다.");
+      } else if (emails.contains(normalize(request.email()))) {
+        results[i] = result(row, Status.DUPLICATE_EMAIL, "이미 존재하는 이메일입니다.");
+      } else {
+        usernames.add(normalize(request.username()));
+        emails.add(normalize(request.email()));
+        accepted.add(i);
+      }
+    }
+    return accepted;
+  }
+
+  // 서버마다 따로 있는 중복 확인 필터는 다른 서버의 가입을 모르므로 묶음의 값을 모두 DB에 묻는다
+  private void rejectExisting(
+      List<Row> batch, List<Integer> accepted, MemberImportResultDto[] results) {
+    Set<String> takenUsernames =
+        existing(
+            batch,
+            accepted,
+            MemberImportRequestDto::username,
+            memberRepository::findExistingUsernames);
+    Set<String> takenEmails =
+        existing(
+            batch,
+            accepted,
+            MemberImportRequestDto::email,
+            memberRepository::findExistingEmails);
+
+    accepted.removeIf(
+        i -> {
+          Row row = batch.get(i);
+          if (takenUsernames.contains(normalize(row.request().username()))) {
+            results[i] = result(row, Status.DUPLICATE_USERNAME, "이미 존재하는 아이디입니다.");
+            return true;
+          }
+          if (takenEmails.contains(normalize(row.request().email()))) {
+            results[i] = result(row, Status.DUPLICATE_EMAIL, "이미 존재하는 이메일입니다.");
+            return true;
+          }
+          return false;
+        });
+  }
+
+  private Set<String> existing(
+      List<Row> batch,
+      List<Integer> accepted,
+      Function<MemberImportRequestDto, String> field,
+      Function<List<String>, List<String>> query) {
+    List<String> values = new ArrayList<>();
+    for (int i : accepted) {
+      values.add(field.apply(batch.get(i).request()));
+    }
+    Set<String> taken = new HashSet<>();
+    if (!values.isEmpty()) {
+      for (String value : query.apply(values)) {
+        taken.add(normalize(value));
+      }
+    }
+    return taken;
+  }
+
+  private void insert(
+      List<Row> batch, List<Integer> accepted, Role defaultRole, MemberImportResultDto[] results) {
+    if (accepted.isEmpty()) {
+      return;
+    }
+    try {
+      List<CompletableFuture<Member>> hashing = new ArrayList<>(accepted.size());
+      for (int i : accepted) {
+        MemberImportRequestDto request = batch.get(i).request();
+        hashing.add(
+            CompletableFuture.supplyAsync(() -> newMember(request, defaultRole), hashExecutor));
+      }
+      List<Member> members = hashing.stream().map(CompletableFuture::join).toList();
+
+      transactionTemplate.executeWithoutResult(status -> memberRepository.saveAll(members));
+      for (Member member : members) {
+        memberAvailabilityIndex.add(member.getUsername(), member.getEmail());
+      }
+      for (int i : accepted) {
+        results[i] = result(batch.get(i), Status.CREATED, null);
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to import {} members", accepted.size(), e);
+      for (int i : accepted) {
+        results[i] = result(batch.get(i), Status.FAILED, "저장하지 못했습니다.");
+      }
+    }
+  }
+
+  private Member newMember(MemberImportRequestDto request, Role defaultRole) {
+    Member member = new Member();
+    member.setUsername(request.username());
+    member.setEmail(request.email());
+    member.setPassword(passwordEncoder.encode(request.password()));
+    member.addRole(defaultRole);
+    return member;
+  }
+
+  private String firstViolation(MemberImportRequestDto request) {
+    Set<ConstraintViolation<MemberImportRequestDto>> violations = validator.validate(request);
+    return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+  }
+
+  private void write(List<MemberImportResultDto> results, OutputStream out) throws IOException {
+    for (MemberImportResultDto result : results) {
+      resultWriter.writeValue(out, result);
+      out.write('\n');
+    }
+    // 묶음마다 내보내 클라이언트가 진행 상황을 바로 본다
+    out.flush();
+  }
+
+  private static MemberImportResultDto result(Row row, Status status, String message) {
+    String username = row.request() != null ? row.request().username() : null;
+    return new MemberImportResultDto(row.line(), username, status, message);
+  }
+
+  // MemberAvailabilityIndex와 같이 대소문자를 구분하지 않는 DB 정렬 규칙에 맞춘다
+  private static String normalize(String value) {
+    return value.toLowerCase(Locale.ROOT);
+  }
+}
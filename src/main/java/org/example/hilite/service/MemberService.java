@@ -1,25 +1,48 @@
 package org.example.hilite.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.common.event.MemberChangedEvent;
 import org.example.hilite.dto.reqeust.SignupRequestDto;
+import org.example.hilite.dto.response.MemberPageResponseDto;
 import org.example.hilite.dto.response.MemberResponseDto;
 import org.example.hilite.entity.Member;
 import org.example.hilite.entity.Role;
+import org.example.hilite.repository.MemberKeys;
+import org.example.hilite.repository.MemberListRow;
 import org.example.hilite.repository.MemberRepository;
 import org.example.hilite.repository.RoleRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class MemberService {
 
+  // 시작할 때 중복 확인 필터를 채우며 한 번에 읽는 회원 수
+  private static final int KEY_BATCH_SIZE = 1000;
+  // 회원 내보내기에서 한 번에 읽는 회원 수
+  private static final int EXPORT_BATCH_SIZE = 500;
+
   private final MemberRepository memberRepository;
   private final RoleRepository roleRepository;
   private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
+  private final MemberAvailabilityIndex memberAvailabilityIndex;
 
   @Transactional
   public void signup(SignupRequestDto requestDto) {
@@ -27,6 +50,7 @@ public class MemberService {
       throw new IllegalArgumentException("비밀번호와 비밀번호 확인이 일치하지 않습니다.");
     }
 
+    // 필터는 서버마다 따로 있어 다른 서버에서 가입한 회원을 모른다. 가입은 항상 DB로 확인한다
     if (memberRepository.existsByUsername(requestDto.username())) {
       throw new IllegalArgumentException("이미 존재하는 아이디입니다.");
     }
@@ -48,11 +72,47 @@ public class MemberService {
     member.addRole(userRole);
 
     memberRepository.save(member);
+    memberAvailabilityIndex.add(member.getUsername(), member.getEmail());
+    eventPublisher.publishEvent(new MemberChangedEvent(member.getUsername()));
   }
 
-  @Transactional(readOnly = true)
-  public boolean checkEmail(String email) {
-    return memberRepository.existsByEmail(email);
+  /**
+   * 아이디 중복 확인 화면용. 필터가 아니라고 하면 DB를 조회하지 않으므로 트랜잭션을 열지 않는다. 다른 서버에서 방금 가입한 아이디를 비어 있다고 답할
+   * 수 있으므로 가입 판단에는 쓰지 않는다.
+   */
+  public boolean isUsernameAvailable(String username) {
+    return memberAvailabilityIndex.isUsernameAvailable(
+        username, memberRepository::existsByUsername);
+  }
+
+  public boolean isEmailAvailable(String email) {
+    return memberAvailabilityIndex.isEmailAvailable(email, memberRepository::existsByEmail);
+  }
+
+  /**
+   * 시작할 때 전체 회원의 아이디와 이메일을 중복 확인 필터에 넣는다. id 순 keyset으로 나눠 읽으므로 DB마다 다른 스트리밍 설정이 필요 없다.
+   *
+   * <p>불러오다 실패하면 필터를 불러오지 않은 상태로 두고 넘어간다. 이때 중복 확인은 계속 DB로 간다.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadAvailabilityIndex() {
+    long members = 0;
+    long cursor = 0;
+    try {
+      List<MemberKeys> batch;
+      do {
+        batch = memberRepository.findKeysAfter(cursor, PageRequest.ofSize(KEY_BATCH_SIZE));
+        for (MemberKeys keys : batch) {
+          memberAvailabilityIndex.add(keys.username(), keys.email());
+          cursor = keys.id();
+        }
+        members += batch.size();
+      } while (batch.size() == KEY_BATCH_SIZE);
+    } catch (RuntimeException e) {
+      log.warn("Failed to load member availability filters after {} members", members, e);
+      return;
+    }
+    memberAvailabilityIndex.markLoaded(members);
   }
 
   @Transactional(readOnly = true)
@@ -70,19 +130,38 @@ public class MemberService {
     return new MemberResponseDto(member.getId(), member.getUsername(), member.getEmail(), roles);
   }
 
+  /** id 기준 keyset 페이지. cursor 다음 회원부터 size명을 역할과 함께 한 번의 쿼리로 읽는다. */
   @Transactional(readOnly = true)
-  public List<MemberResponseDto> getAllMembers() {
-    return memberRepository.findAll().stream()
-        .map(
-            member -> {
-              List<String> roles =
-                  member.getMemberRoles().stream()
-                      .map(memberRole -> memberRole.getRole().getName())
-                      .collect(Collectors.toList());
-
-              return new MemberResponseDto(
-                  member.getId(), member.getUsername(), member.getEmail(), roles);
-            })
-        .collect(Collectors.toList());
+  public MemberPageResponseDto getMembers(long cursor, int size) {
+    List<MemberResponseDto> members =
+        memberRepository.findListRowsAfter(cursor, PageRequest.ofSize(size)).stream()
+            .map(MemberListRow::toDto)
+            .toList();
+
+    Long nextCursor = members.size() < size ? null : members.get(members.size() - 1).id();
+    return new MemberPageResponseDto(members, nextCursor);
+  }
+
+  /**
+   * 전체 회원을 한 줄에 하나씩 JSON으로 쓴다(NDJSON). id 순 keyset으로 EXPORT_BATCH_SIZE명씩 읽어 바로 쓰므로 메모리에 목록을 모으지
+   * 않고, DB마다 다른 스트리밍 설정도 필요 없다. 페이지마다 짧게 조회하므로 느린 클라이언트가 커넥션을 오래 잡지 않는다.
+   */
+  public void exportMembers(OutputStream out) throws IOException {
+    // 한 행을 쓸 때마다 응답 스트림이 닫히지 않도록 한다
+    ObjectWriter writer =
+        objectMapper
+            .writerFor(MemberResponseDto.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    long cursor = 0;
+    List<MemberListRow> batch;
+    do {
+      batch = memberRepository.findListRowsAfter(cursor, PageRequest.ofSize(EXPORT_BATCH_SIZE));
+      for (MemberListRow row : batch) {
+        writer.writeValue(out, row.toDto());
+        out.write('\n');
+        cursor = row.id();
+      }
+    } while (batch.size() == EXPORT_BATCH_SIZE);
+    out.flush();
   }
 }
@@ -0,0 +1,264 @@
+package org.example.hilite.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 경로 세그먼트 단위의 트라이. 각 노드는 해당 위치에서 끝나는 패턴을 가진 역할들을 비트마스크로 가진다.
+ *
+ * <p>지원하는 패턴은 기존과 같다.
+ *
+ * <ul>
+ *   <li>{@code /a/b} : 정확히 일치하는 경로
+ *   <li>{@code /a/*} : {@code /a} 아래 세그먼트 하나
+ *   <li>{@code /a/**} : {@code /a} 자신과 그 아래 모든 경로
+ * </ul>
+ *
+ * <p>슬래시는 그대로 비교한다. {@code /a}는 {@code /a/}나 {@code //a}를 허용하지 않으며, 빈 세그먼트(연속된 슬래시나 끝 슬래시)는
+ * {@code /**}가 아니면 어떤 패턴에도 걸리지 않는다.
+ *
+ * <p>조회는 요청 URI를 앞에서부터 한 번만 훑으며, 세그먼트 비교를 문자 범위로 하고 역할 마스크를 역할 조합별로 재사용하기 때문에 할당이 없다.
+ */
+final class PathTrie {
+
+  private static final String ANY_DEPTH = "**";
+  private static final String SINGLE_DEPTH = "*";
+  // 역할 조합은 회원 수가 아니라 역할 수에 따라 늘어나므로 이 정도면 충분하다. 넘치면 캐시하지 않고 매번 만든다
+  private static final int MAX_CACHED_MASKS = 1024;
+
+  private final Node root;
+  private final Map<String, Integer> roleBits;
+  private final int maskWords;
+  // 역할 목록 -> 마스크. 트라이는 권한이 바뀔 때마다 새로 만들어지므로 비울 필요가 없다
+  private final Map<List<String>, long[]> roleMasks = new ConcurrentHashMap<>();
+
+  private PathTrie(Node root, Map<String, Integer> roleBits) {
+    this.root = root;
+    this.roleBits = roleBits;
+    this.maskWords = Math.max(1, (roleBits.size() + 63) >>> 6);
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * 역할 이름 목록을 비트마스크로 변환한다. 트라이에 등록된 역할이 하나도 없으면 {@code null}.
+   *
+   * <p>같은 역할 목록에는 같은 배열을 돌려주므로 호출한 쪽에서 고치면 안 된다.
+   */
+  long[] roleMask(Collection<String> roleNames) {
+    long[] cached = roleMasks.get(roleNames);
+    if (cached != null) {
+      return cached;
+    }
+    long[] mask = buildMask(roleNames);
+    if (mask != null && roleMasks.size() < MAX_CACHED_MASKS) {
+      roleMasks.putIfAbsent(List.copyOf(roleNames), mask);
+    }
+    return mask;
+  }
+
+  private long[] buildMask(Collection<String> roleNames) {
+    long[] mask = null;
+    for (String roleName : roleNames) {
+      Integer bit = roleBits.get(roleName);
+      if (bit != null) {
+        if (mask == null) {
+          mask = new long[maskWords];
+        }
+        mask[bit >>> 6] |= 1L << bit;
+      }
+    }
+    return mask;
+  }
+
+  /** 주어진 역할 마스크 중 하나라도 {@code path}에 접근할 수 있는지 확인한다. */
+  boolean matches(String path, long[] roleMask) {
+    int length = path.length();
+    if (length == 0 || path.charAt(0) != '/') {
+      return false;
+    }
+    if (length == 1) {
+      return intersects(root.anyDepthRoles, roleMask) || intersects(root.exactRoles, roleMask);
+    }
+
+    Node node = root;
+    int start = 1;
+    while (true) {
+      if (intersects(node.anyDepthRoles, roleMask)) {
+        return true;
+      }
+
+      int end = path.indexOf('/', start);
+      if (end < 0) {
+        end = length;
+      }
+      if (end == start) {
+        // 빈 세그먼트는 어떤 자식과도 같지 않다
+        return false;
+      }
+      boolean last = end == length;
+
+      if (last && intersects(node.singleDepthRoles, roleMask)) {
+        return true;
+      }
+
+      node = node.child(path, start, end);
+      if (node == null) {
+        return false;
+      }
+      if (last) {
+        return intersects(node.anyDepthRoles, roleMask) || intersects(node.exactRoles, roleMask);
+      }
+      start = end + 1;
+    }
+  }
+
+  private static boolean intersects(long[] roles, long[] roleMask) {
+    if (roles == null) {
+      return false;
+    }
+    for (int i = 0; i < roles.length; i++) {
+      if ((roles[i] & roleMask[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static final class Node {
+    private final String[] segments;
+    private final Node[] children;
+    private final long[] exactRoles;
+    private final long[] singleDepthRoles;
+    private final long[] anyDepthRoles;
+
+    private Node(
+        String[] segments,
+        Node[] children,
+        long[] exactRoles,
+        long[] singleDepthRoles,
+        long[] anyDepthRoles) {
+      this.segments = segments;
+      this.children = children;
+      this.exactRoles = exactRoles;
+      this.singleDepthRoles = singleDepthRoles;
+      this.anyDepthRoles = anyDepthRoles;
+    }
+
+    /** 정렬된 세그먼트 배열에서 {@code path[start, end)}와 같은 자식을 이진 탐색한다. */
+    Node child(String path, int start, int end) {
+      int low = 0;
+      int high = segments.length - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int cmp = compare(segments[mid], path, start, end);
+        if (cmp < 0) {
+          low = mid + 1;
+        } else if (cmp > 0) {
+          high = mid - 1;
+        } else {
+          return children[mid];
+        }
+      }
+      return null;
+    }
+
+    private static int compare(String segment, String path, int start, int end) {
+      int length = end - start;
+      int common = Math.min(segment.length(), length);
+      for (int i = 0; i < common; i++) {
+        int diff = segment.charAt(i) - path.charAt(start + i);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+      return segment.length() - length;
+    }
+  }
+
+  static final class Builder {
+    private final MutableNode root = new MutableNode();
+    private final Map<String, Integer> roleBits = new HashMap<>();
+
+    private Builder() {}
+
+    Builder add(String pattern, String roleName) {
+      int bit = roleBits.computeIfAbsent(roleName, name -> roleBits.size());
+      String[] segments =
+          Arrays.stream(pattern.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+
+      int literalCount = segments.length;
+      String last = literalCount > 0 ? segments[literalCount - 1] : null;
+      boolean anyDepth = ANY_DEPTH.equals(last);
+      boolean singleDepth = SINGLE_DEPTH.equals(last);
+      if (anyDepth || singleDepth) {
+        literalCount--;
+      }
+
+      MutableNode node = root;
+      for (int i = 0; i < literalCount; i++) {
+        node = node.children.computeIfAbsent(segments[i], segment -> new MutableNode());
+      }
+
+      if (anyDepth) {
+        node.anyDepthRoles = set(node.anyDepthRoles, bit);
+      } else if (singleDepth) {
+        node.singleDepthRoles = set(node.singleDepthRoles, bit);
+      } else {
+        node.exactRoles = set(node.exactRoles, bit);
+      }
+      return this;
+    }
+
+    PathTrie build() {
+      int maskWords = Math.max(1, (roleBits.size() + 63) >>> 6);
+      return new PathTrie(root.freeze(maskWords), Map.copyOf(roleBits));
+    }
+
+    private static long[] set(long[] roles, int bit) {
+      int word = bit >>> 6;
+      long[] result = roles == null ? new long[word + 1] : roles;
+      if (result.length <= word) {
+        result = Arrays.copyOf(result, word + 1);
+      }
+      result[word] |= 1L << bit;
+      return result;
+    }
+  }
+
+  private static final class MutableNode {
+    private final TreeMap<String, MutableNode> children = new TreeMap<>();
+    private long[] exactRoles;
+    private long[] singleDepthRoles;
+    private long[] anyDepthRoles;
+
+    Node freeze(int maskWords) {
+      String[] segments = new String[children.size()];
+      Node[] frozen = new Node[children.size()];
+      int i = 0;
+      for (Map.Entry<String, MutableNode> entry : children.entrySet()) {
+        segments[i] = entry.getKey();
+        frozen[i] = entry.getValue().freeze(maskWords);
+        i++;
+      }
+      return new Node(
+          segments,
+          frozen,
+          widen(exactRoles, maskWords),
+          widen(singleDepthRoles, maskWords),
+          widen(anyDepthRoles, maskWords));
+    }
+
+    // 조회 시 길이 검사를 없애기 위해 모든 마스크를 같은 길이로 맞춘다
+    private static long[] widen(long[] roles, int maskWords) {
+      return roles == null ? null : Arrays.copyOf(roles, maskWords);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package org.example.hilite.service;
+
+import java.util.Collection;
+import java.util.List;
+import org.example.hilite.entity.RolePagePermission;
+
+/**
+ * 모든 역할의 경로 패턴을 하나의 {@link PathTrie}로 컴파일해 둔 불변 스냅샷.
+ *
+ * <p>권한 데이터가 바뀌면 새 인스턴스를 만들어 통째로 교체하며, 조회 시에는 DB에 접근하지 않는다.
+ *
+ * <p>역할 상속은 만들 때 펼쳐 둔다. 역할에 준 경로를 그 역할을 물려받는 모든 역할에도 넣으므로 조회할 때 상속 그래프를 따라가지 않는다.
+ */
+final class PermissionIndex {
+
+  private final long version;
+  private final PathTrie trie;
+  private final int permissionCount;
+
+  private PermissionIndex(long version, PathTrie trie, int permissionCount) {
+    this.version = version;
+    this.trie = trie;
+    this.permissionCount = permissionCount;
+  }
+
+  static PermissionIndex of(
+      long version, List<RolePagePermission> permissions, RoleInheritance inheritance) {
+    PathTrie.Builder builder = PathTrie.builder();
+    for (RolePagePermission permission : permissions) {
+      String path = permission.getAccessPage().getPath();
+      String role = permission.getRole().getName();
+      builder.add(path, role);
+      for (String heir : inheritance.descendantsOf(role)) {
+        builder.add(path, heir);
+      }
+    }
+    return new PermissionIndex(version, builder.build(), permissions.size());
+  }
+
+  boolean hasPermission(String requestPath, Collection<String> userRoles) {
+    long[] roleMask = trie.roleMask(userRoles);
+    return roleMask != null && trie.matches(requestPath, roleMask);
+  }
+
+  /** 인덱스가 다시 만들어질 때마다 증가하는 번호 */
+  long version() {
+    return version;
+  }
+
+  int permissionCount() {
+    return permissionCount;
+  }
+}
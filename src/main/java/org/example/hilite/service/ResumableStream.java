@@ -0,0 +1,167 @@
+package org.example.hilite.service;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 재연결로 이어 받을 수 있는 스트리밍 응답 한 건.
+ *
+ * <p>생성된 청크마다 0부터 증가하는 순번을 붙이고 최근 청크를 링 버퍼에 남긴다. 링 버퍼는 청크 수(maxChunks)와 문자 수(maxChars)
+ * 중 먼저 닿는 한도에서 오래된 청크부터 버린다. 연결된 클라이언트가 있으면 청크를 바로 넘기고, 연결이 끊기면 생성은 계속하면서 resumeGrace
+ * 동안 재연결을 기다린다. 그 안에 아무도 다시 붙지 않으면 생성 세션을 닫는다.
+ */
+public final class ResumableStream {
+
+  private final String id;
+  private final String username;
+  private final ChatStreamSession generation;
+  private final ScheduledExecutorService scheduler;
+  private final long resumeGraceMillis;
+  private final int maxChars;
+  private final String[] ring;
+  // ring에 남아 있는 가장 오래된 청크의 순번과 다음에 붙일 순번
+  private long firstSeq;
+  private long nextSeq;
+  private int retainedChars;
+  private boolean completed;
+  private SseDelivery.Outbound outbound;
+  private ScheduledFuture<?> pendingCancel;
+
+  ResumableStream(
+      String id,
+      String username,
+      ChatStreamSession generation,
+      ScheduledExecutorService scheduler,
+      long resumeGraceMillis,
+      int maxChunks,
+      int maxChars) {
+    this.id = id;
+    this.username = username;
+    this.generation = generation;
+    this.scheduler = scheduler;
+    this.resumeGraceMillis = resumeGraceMillis;
+    this.maxChars = maxChars;
+    this.ring = new String[maxChunks];
+  }
+
+  public String id() {
+    return id;
+  }
+
+  public String username() {
+    return username;
+  }
+
+  public synchronized boolean isCompleted() {
+    return completed;
+  }
+
+  /** 청크에 순번을 붙여 링 버퍼에 남기고, 연결된 클라이언트가 있으면 전송 버퍼에 넣는다 */
+  public synchronized void append(CharSequence chunk) {
+    String text = chunk.toString();
+    long seq = nextSeq++;
+    if (seq - firstSeq == ring.length) {
+      evictOldest();
+    }
+    ring[slot(seq)] = text;
+    retainedChars += text.length();
+    while (retainedChars > maxChars && firstSeq < seq) {
+      evictOldest();
+    }
+
+    if (outbound != null) {
+      outbound.offer(seq, text);
+    }
+  }
+
+  /** 생성이 끝났음을 표시한다. 연결된 클라이언트에는 남은 청크 뒤에 완료 이벤트가 간다. */
+  public synchronized void complete() {
+    completed = true;
+    cancelPendingCancel();
+    if (outbound != null) {
+      outbound.complete();
+    }
+  }
+
+  /** afterSeq 다음 청크부터 이어 보낼 수 있는지 */
+  public synchronized boolean canResumeAfter(long afterSeq) {
+    return resumable(afterSeq);
+  }
+
+  /**
+   * 클라이언트 연결을 붙이고 afterSeq 다음 청크부터 보낸다. 새 스트림은 afterSeq로 -1을 넘긴다. 링 버퍼가 이미 해당 청크를 버렸으면 붙이지 않고
+   * false를 반환한다.
+   */
+  public boolean attach(SseDelivery.Outbound connection, long afterSeq) {
+    SseDelivery.Outbound previous;
+    synchronized (this) {
+      if (!resumable(afterSeq)) {
+        return false;
+      }
+      cancelPendingCancel();
+      previous = outbound;
+      outbound = connection;
+      for (long seq = afterSeq + 1; seq < nextSeq; seq++) {
+        connection.offer(seq, ring[slot(seq)]);
+      }
+      if (completed) {
+        connection.complete();
+      }
+    }
+    // 이전 연결이 아직 살아 있다고 믿고 있으면 정리한다. 재연결은 보통 이전 연결이 끊긴 뒤에 온다.
+    if (previous != null) {
+      previous.close();
+      previous.emitter().complete();
+    }
+    connection.onDisconnect(() -> detached(connection));
+    return true;
+  }
+
+  /** 클라이언트 연결을 떼어 내고 돌려준다. 생성이 실패해 에러를 알려야 할 때 쓴다. */
+  public synchronized SseDelivery.Outbound detach() {
+    SseDelivery.Outbound detached = outbound;
+    outbound = null;
+    return detached;
+  }
+
+  private void detached(SseDelivery.Outbound connection) {
+    synchronized (this) {
+      if (outbound != connection) {
+        return;
+      }
+      outbound = null;
+      if (completed || generation.isClosed()) {
+        return;
+      }
+      // 유예 시간 안에 재연결이 없으면 생성을 멈춘다
+      pendingCancel =
+          scheduler.schedule(generation::close, resumeGraceMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  // synchronized 안에서 호출한다. 생성이 도중에 멈췄으면 이어 받을 수 없다.
+  private boolean resumable(long afterSeq) {
+    boolean retained = afterSeq >= firstSeq - 1 && afterSeq < nextSeq;
+    return retained && (completed || !generation.isClosed());
+  }
+
+  // synchronized 안에서 호출한다
+  private void cancelPendingCancel() {
+    if (pendingCancel != null) {
+      pendingCancel.cancel(false);
+      pendingCancel = null;
+    }
+  }
+
+  // synchronized 안에서 호출한다
+  private void evictOldest() {
+    int slot = slot(firstSeq++);
+    retainedChars -= ring[slot].length();
+    ring[slot] = null;
+  }
+
+  private int slot(long seq) {
+    return (int) (seq % ring.length);
+  }
+}
@@ -0,0 +1,136 @@
+package org.example.hilite.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 진행 중이거나 방금 끝난 스트리밍 응답을 보관해 Last-Event-ID로 이어 받을 수 있게 한다.
+ *
+ * <p>진행 중인 스트림은 생성이 끝날 때까지(최대 max-active) 남고, 완료된 스트림은 retention 동안만 남는다. 완료 없이 생성이 멈춘 스트림은
+ * 이어 받을 수 없으므로 바로 지운다. 스트림 하나의 메모리는 {@link ResumableStream}의 링 버퍼 한도로 제한된다.
+ */
+@Service
+public class ResumableStreamStore {
+
+  private final Cache<String, ResumableStream> streams;
+  private final ScheduledThreadPoolExecutor scheduler;
+  private final Duration resumeGrace;
+  private final int maxChunks;
+  private final int maxChars;
+
+  public ResumableStreamStore(
+      MeterRegistry meterRegistry,
+      @Value("${hilite.chat.stream.resume.maximum-streams:10000}") long maximumStreams,
+      @Value("${hilite.chat.stream.resume.max-chunks:256}") int maxChunks,
+      @Value("${hilite.chat.stream.resume.max-chars:16384}") int maxChars,
+      @Value("${hilite.chat.stream.resume.grace:10s}") Duration resumeGrace,
+      @Value("${hilite.chat.stream.resume.retention:30s}") Duration retention,
+      @Value("${hilite.chat.stream.resume.max-active:10m}") Duration maxActive) {
+    this.streams =
+        Caffeine.newBuilder()
+            .maximumSize(maximumStreams)
+            .expireAfter(new ShortAfterCompletion(maxActive, retention))
+            .recordStats()
+            .build();
+    this.scheduler =
+        new ScheduledThreadPoolExecutor(
+            1, Thread.ofPlatform().name("chat-stream-resume").daemon().factory());
+    // 재연결로 취소된 예약이 유예 시간 끝까지 큐에 남지 않도록 한다
+    this.scheduler.setRemoveOnCancelPolicy(true);
+    this.resumeGrace = resumeGrace;
+    this.maxChunks = maxChunks;
+    this.maxChars = maxChars;
+    CaffeineCacheMetrics.monitor(meterRegistry, streams, "chat.streams.resumable");
+  }
+
+  /** 생성 세션에 대한 새 스트림. 이벤트 id에 쓰일 스트림 id는 추측할 수 없는 임의 값이다. */
+  public ResumableStream open(String username, ChatStreamSession generation) {
+    String id = UUID.randomUUID().toString();
+    ResumableStream stream =
+        new ResumableStream(
+            id, username, generation, scheduler, resumeGrace.toMillis(), maxChunks, maxChars);
+    streams.put(id, stream);
+    generation.onClose(
+        () -> {
+          if (!stream.isCompleted()) {
+            streams.invalidate(id);
+          }
+        });
+    return stream;
+  }
+
+  /** 스트림 생성이 끝났음을 알리고 보관 기간을 retention으로 줄인다 */
+  public void complete(ResumableStream stream) {
+    stream.complete();
+    // 다시 넣으면 ShortAfterCompletion.expireAfterUpdate가 만료 시각을 다시 계산한다
+    streams.put(stream.id(), stream);
+  }
+
+  /** Last-Event-ID가 가리키는 username의 스트림과 마지막으로 받은 순번. 이어 받을 수 없으면 null. */
+  public ResumePoint find(String lastEventId, String username) {
+    int separator = lastEventId.lastIndexOf('-');
+    if (separator < 0) {
+      return null;
+    }
+    long lastSeq;
+    try {
+      lastSeq = Long.parseLong(lastEventId, separator + 1, lastEventId.length(), 10);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+
+    ResumableStream stream = streams.getIfPresent(lastEventId.substring(0, separator));
+    if (stream == null
+        || !Objects.equals(stream.username(), username)
+        || !stream.canResumeAfter(lastSeq)) {
+      return null;
+    }
+    return new ResumePoint(stream, lastSeq);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  public record ResumePoint(ResumableStream stream, long lastSeq) {}
+
+  /** 진행 중인 스트림은 maxActive, 완료된 스트림은 완료 시점부터 retention 동안 보관한다 */
+  private static final class ShortAfterCompletion implements Expiry<String, ResumableStream> {
+
+    private final long maxActiveNanos;
+    private final long retentionNanos;
+
+    private ShortAfterCompletion(Duration maxActive, Duration retention) {
+      this.maxActiveNanos = maxActive.toNanos();
+      this.retentionNanos = retention.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(String key, ResumableStream stream, long currentTime) {
+      return maxActiveNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, ResumableStream stream, long currentTime, long currentDuration) {
+      return stream.isCompleted() ? retentionNanos : currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, ResumableStream stream, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
@@ -0,0 +1,194 @@
+package org.example.hilite.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 역할 상속 그래프와 그 추이 폐포(transitive closure)의 불변 스냅샷.
+ *
+ * <p>자식 역할은 부모 역할과 부모의 조상이 가진 권한을 모두 물려받는다. 역할마다 조상과 자손 집합을 미리 계산해 두므로 {@link PermissionIndex}를
+ * 만들 때나 순환 검사를 할 때 그래프를 따라가지 않는다.
+ *
+ * <p>간선을 더하거나 빼면 영향을 받는 역할, 즉 자식과 그 자손의 집합만 다시 계산한 새 스냅샷을 돌려준다. 나머지 역할의 집합은 이전 스냅샷과 공유한다.
+ */
+final class RoleInheritance {
+
+  private static final RoleInheritance EMPTY = new RoleInheritance(Map.of(), Map.of(), Map.of());
+
+  // 역할 -> 직접 부모
+  private final Map<String, Set<String>> parents;
+  // 역할 -> 자신을 뺀 모든 조상
+  private final Map<String, Set<String>> ancestors;
+  // 역할 -> 자신을 뺀 모든 자손
+  private final Map<String, Set<String>> descendants;
+
+  private RoleInheritance(
+      Map<String, Set<String>> parents,
+      Map<String, Set<String>> ancestors,
+      Map<String, Set<String>> descendants) {
+    this.parents = parents;
+    this.ancestors = ancestors;
+    this.descendants = descendants;
+  }
+
+  static RoleInheritance empty() {
+    return EMPTY;
+  }
+
+  /** 역할 -> 직접 부모 목록으로 전체 폐포를 계산한다. 순환이 있으면 IllegalArgumentException. */
+  static RoleInheritance of(Map<String, ? extends Collection<String>> parentsByRole) {
+    Map<String, Set<String>> parents = new HashMap<>();
+    parentsByRole.forEach(
+        (role, roleParents) -> {
+          if (!roleParents.isEmpty()) {
+            parents.put(role, Set.copyOf(roleParents));
+          }
+        });
+
+    Map<String, Set<String>> ancestors = new HashMap<>();
+    for (String role : parents.keySet()) {
+      collectAncestors(role, parents, ancestors, new HashSet<>());
+    }
+    Map<String, Set<String>> descendants = new HashMap<>();
+    ancestors.forEach(
+        (role, roleAncestors) -> {
+          for (String ancestor : roleAncestors) {
+            descendants.computeIfAbsent(ancestor, key -> new HashSet<>()).add(role);
+          }
+        });
+    descendants.replaceAll((role, roleDescendants) -> Set.copyOf(roleDescendants));
+    return new RoleInheritance(parents, ancestors, descendants);
+  }
+
+  Set<String> parentsOf(String role) {
+    return parents.getOrDefault(role, Set.of());
+  }
+
+  Set<String> ancestorsOf(String role) {
+    return ancestors.getOrDefault(role, Set.of());
+  }
+
+  Set<String> descendantsOf(String role) {
+    return descendants.getOrDefault(role, Set.of());
+  }
+
+  /** child가 parent를 물려받게 하면 순환이 생기는지. parent가 이미 child를 물려받고 있으면 순환이다. */
+  boolean createsCycle(String child, String parent) {
+    return child.equals(parent) || ancestorsOf(parent).contains(child);
+  }
+
+  /** child가 parent를 물려받는 스냅샷. 순환이 생기면 IllegalArgumentException. */
+  RoleInheritance withParent(String child, String parent) {
+    if (createsCycle(child, parent)) {
+      throw new IllegalArgumentException(
+          "역할 상속에 순환이 생깁니다: " + parent + "은(는) 이미 " + child + "을(를) 물려받습니다.");
+    }
+    if (parentsOf(child).contains(parent)) {
+      return this;
+    }
+
+    Map<String, Set<String>> newParents = new HashMap<>(parents);
+    newParents.put(child, plus(parentsOf(child), Set.of(parent)));
+
+    // child와 그 자손은 parent와 parent의 조상을 새로 물려받는다
+    Set<String> gained = plus(ancestorsOf(parent), Set.of(parent));
+    Set<String> heirs = plus(descendantsOf(child), Set.of(child));
+    Map<String, Set<String>> newAncestors = new HashMap<>(ancestors);
+    for (String heir : heirs) {
+      newAncestors.put(heir, plus(ancestorsOf(heir), gained));
+    }
+    Map<String, Set<String>> newDescendants = new HashMap<>(descendants);
+    for (String ancestor : gained) {
+      newDescendants.put(ancestor, plus(descendantsOf(ancestor), heirs));
+    }
+    return new RoleInheritance(newParents, newAncestors, newDescendants);
+  }
+
+  /** child가 parent를 더 이상 직접 물려받지 않는 스냅샷 */
+  RoleInheritance withoutParent(String child, String parent) {
+    if (!parentsOf(child).contains(parent)) {
+      return this;
+    }
+
+    Map<String, Set<String>> newParents = new HashMap<>(parents);
+    Set<String> remaining = minus(parentsOf(child), Set.of(parent));
+    if (remaining.isEmpty()) {
+      newParents.remove(child);
+    } else {
+      newParents.put(child, remaining);
+    }
+
+    // 조상이 바뀔 수 있는 역할은 child와 그 자손뿐이다. 이들만 지우고 부모에서 다시 모으고, 나머지는 기존 값을 메모로 쓴다
+    Set<String> heirs = plus(descendantsOf(child), Set.of(child));
+    Map<String, Set<String>> newAncestors = new HashMap<>(ancestors);
+    newAncestors.keySet().removeAll(heirs);
+    for (String heir : heirs) {
+      collectAncestors(heir, newParents, newAncestors, new HashSet<>());
+    }
+
+    Map<String, Set<String>> lostHeirs = new HashMap<>();
+    for (String heir : heirs) {
+      for (String lost : minus(ancestorsOf(heir), newAncestors.get(heir))) {
+        lostHeirs.computeIfAbsent(lost, key -> new HashSet<>()).add(heir);
+      }
+    }
+    Map<String, Set<String>> newDescendants = new HashMap<>(descendants);
+    lostHeirs.forEach(
+        (ancestor, lost) -> newDescendants.put(ancestor, minus(descendantsOf(ancestor), lost)));
+    return new RoleInheritance(newParents, newAncestors, newDescendants);
+  }
+
+  /** role과 role에 닿는 간선을 모두 뺀 스냅샷. role의 자식은 role을 거쳐 물려받던 권한을 잃는다. */
+  RoleInheritance withoutRole(String role) {
+    RoleInheritance result = this;
+    for (String parent : parentsOf(role)) {
+      result = result.withoutParent(role, parent);
+    }
+    for (String heir : descendantsOf(role)) {
+      if (parentsOf(heir).contains(role)) {
+        result = result.withoutParent(heir, role);
+      }
+    }
+    return result;
+  }
+
+  // parents를 따라 role의 조상을 모아 memo에 넣는다. 경로 위에서 같은 역할을 다시 만나면 순환이다
+  private static Set<String> collectAncestors(
+      String role,
+      Map<String, Set<String>> parents,
+      Map<String, Set<String>> memo,
+      Set<String> path) {
+    Set<String> known = memo.get(role);
+    if (known != null) {
+      return known;
+    }
+    if (!path.add(role)) {
+      throw new IllegalArgumentException("역할 상속에 순환이 있습니다: " + role);
+    }
+    Set<String> collected = new HashSet<>();
+    for (String parent : parents.getOrDefault(role, Set.of())) {
+      collected.add(parent);
+      collected.addAll(collectAncestors(parent, parents, memo, path));
+    }
+    path.remove(role);
+
+    Set<String> result = Set.copyOf(collected);
+    memo.put(role, result);
+    return result;
+  }
+
+  private static Set<String> plus(Set<String> base, Set<String> added) {
+    Set<String> result = new HashSet<>(base);
+    result.addAll(added);
+    return Set.copyOf(result);
+  }
+
+  private static Set<String> minus(Set<String> base, Set<String> removed) {
+    Set<String> result = new HashSet<>(base);
+    result.removeAll(removed);
+    return Set.copyOf(result);
+  }
+}
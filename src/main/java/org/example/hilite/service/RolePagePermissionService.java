@@ -2,6 +2,7 @@ package org.example.hilite.service;
 
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.example.hilite.common.event.PermissionChangedEvent;
 import org.example.hilite.dto.reqeust.RolePagePermissionRequestDto;
 import org.example.hilite.dto.response.RolePagePermissionResponseDto;
 import org.example.hilite.entity.AccessPage;
@@ -10,6 +11,7 @@ import org.example.hilite.entity.RolePagePermission;
 import org.example.hilite.repository.AccessPageRepository;
 import org.example.hilite.repository.RolePagePermissionRepository;
 import org.example.hilite.repository.RoleRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,7 @@ public class RolePagePermissionService {
   private final RolePagePermissionRepository rolePagePermissionRepository;
   private final RoleRepository roleRepository;
   private final AccessPageRepository accessPageRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional
   public RolePagePermissionResponseDto createPermission(RolePagePermissionRequestDto requestDto) {
@@ -48,6 +51,7 @@ public class RolePagePermissionService {
     permission.setAccessPage(accessPage);
 
     RolePagePermission saved = rolePagePermissionRepository.save(permission);
+    eventPublisher.publishEvent(new PermissionChangedEvent("permission created"));
 
     return new RolePagePermissionResponseDto(
         saved.getId(),
@@ -66,6 +70,7 @@ public class RolePagePermissionService {
             .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 권한입니다."));
 
     rolePagePermissionRepository.delete(permission);
+    eventPublisher.publishEvent(new PermissionChangedEvent("permission deleted"));
   }
 
   @Transactional(readOnly = true)
@@ -1,18 +1,41 @@
 package org.example.hilite.service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.hilite.common.event.MemberChangedEvent;
+import org.example.hilite.common.event.PermissionChangedEvent;
+import org.example.hilite.common.util.TokenVersionStore;
 import org.example.hilite.dto.reqeust.RoleRequestDto;
 import org.example.hilite.dto.response.RoleResponseDto;
 import org.example.hilite.entity.Role;
 import org.example.hilite.repository.RoleRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * 역할과 역할 상속 관리.
+ *
+ * <p>상속 관계의 추이 폐포는 {@link RoleInheritance} 스냅샷으로 메모리에 들고 있다. 처음 쓸 때 DB에서 한 번 계산하고, 이후에는 상속을 바꿀
+ * 때마다 바뀐 부분만 다시 계산해 교체한다. 상속 변경은 hierarchyLock으로 직렬화하고 커밋이 끝난 뒤 스냅샷을 바꾸므로, 동시에 들어온 변경이 서로의
+ * 순환 검사를 지나쳐 순환을 만들 수 없다.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RoleService {
 
   private final RoleRepository roleRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TokenVersionStore tokenVersionStore;
+  private final TransactionTemplate transactionTemplate;
+
+  // 상속 변경과 처음 불러오기를 직렬화한다. 이벤트는 락 밖에서 발행해 권한 인덱스 재생성과 락이 엇갈리지 않게 한다
+  private final Object hierarchyLock = new Object();
+  private volatile RoleInheritance inheritance;
 
   public RoleResponseDto createRole(RoleRequestDto dto) {
     if (roleRepository.findByName(dto.name()).isPresent()) {
@@ -20,7 +43,9 @@ public class RoleService {
     }
     Role role = new Role();
     role.setName(dto.name());
-    return toDto(roleRepository.save(role));
+    RoleResponseDto saved = toDto(roleRepository.save(role));
+    eventPublisher.publishEvent(new PermissionChangedEvent("role created"));
+    return saved;
   }
 
   public List<RoleResponseDto> getAllRoles() {
@@ -28,10 +53,100 @@ public class RoleService {
   }
 
   public void deleteRole(Long id) {
-    roleRepository.deleteById(id);
+    synchronized (hierarchyLock) {
+      String name =
+          transactionTemplate.execute(
+              status -> {
+                Role role = findRole(id);
+                // 이 역할을 물려받던 역할에서 먼저 떼어 내야 상속 테이블의 외래 키에 걸리지 않는다
+                for (Role child : roleRepository.findChildren(id)) {
+                  child.getParents().remove(role);
+                }
+                roleRepository.delete(role);
+                return role.getName();
+              });
+      inheritance = inheritance().withoutRole(name);
+    }
+    eventPublisher.publishEvent(new PermissionChangedEvent("role deleted"));
+    eventPublisher.publishEvent(MemberChangedEvent.allMembers());
+    // 삭제된 역할이 담긴 무상태 토큰을 더 이상 믿지 않는다
+    tokenVersionStore.revokeAll();
+  }
+
+  /** id 역할이 parentId 역할의 권한을 물려받게 한다. 순환이 생기면 IllegalArgumentException. */
+  public RoleResponseDto addParent(Long id, Long parentId) {
+    RoleResponseDto updated;
+    synchronized (hierarchyLock) {
+      HierarchyChange change =
+          transactionTemplate.execute(
+              status -> {
+                Role role = findRole(id);
+                Role parent = findRole(parentId);
+                // 순환이면 여기서 던져 상속 테이블에 쓰지 않는다
+                RoleInheritance next = inheritance().withParent(role.getName(), parent.getName());
+                role.getParents().add(parent);
+                return new HierarchyChange(role, next);
+              });
+      inheritance = change.inheritance();
+      updated = toDto(change.role());
+    }
+    eventPublisher.publishEvent(new PermissionChangedEvent("role parent added"));
+    return updated;
+  }
+
+  public RoleResponseDto removeParent(Long id, Long parentId) {
+    RoleResponseDto updated;
+    synchronized (hierarchyLock) {
+      HierarchyChange change =
+          transactionTemplate.execute(
+              status -> {
+                Role role = findRole(id);
+                Role parent = findRole(parentId);
+                role.getParents().remove(parent);
+                return new HierarchyChange(
+                    role, inheritance().withoutParent(role.getName(), parent.getName()));
+              });
+      inheritance = change.inheritance();
+      updated = toDto(change.role());
+    }
+    eventPublisher.publishEvent(new PermissionChangedEvent("role parent removed"));
+    return updated;
+  }
+
+  /** 현재 역할 상속 스냅샷. 아직 불러오지 않았으면 DB에서 전체를 계산한다. */
+  RoleInheritance inheritance() {
+    RoleInheritance current = inheritance;
+    if (current != null) {
+      return current;
+    }
+    synchronized (hierarchyLock) {
+      if (inheritance == null) {
+        inheritance = loadInheritance();
+      }
+      return inheritance;
+    }
   }
 
+  private RoleInheritance loadInheritance() {
+    Map<String, List<String>> parentsByRole = new HashMap<>();
+    for (Role role : roleRepository.findAllWithParents()) {
+      parentsByRole.put(role.getName(), role.getParents().stream().map(Role::getName).toList());
+    }
+    RoleInheritance loaded = RoleInheritance.of(parentsByRole);
+    log.info("Role inheritance loaded for {} roles", parentsByRole.size());
+    return loaded;
+  }
+
+  private Role findRole(Long id) {
+    return roleRepository
+        .findById(id)
+        .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 역할입니다."));
+  }
+
+  private record HierarchyChange(Role role, RoleInheritance inheritance) {}
+
   private RoleResponseDto toDto(Role role) {
-    return new RoleResponseDto(role.getId(), role.getName());
+    List<String> parents = inheritance().parentsOf(role.getName()).stream().sorted().toList();
+    return new RoleResponseDto(role.getId(), role.getName(), parents);
   }
 }
@@ -0,0 +1,126 @@
+package org.example.hilite.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 서버 없이 미리 만든 긴 응답을 일정 간격의 청크로 보내는 백엔드.
+ *
+ * <p>청크 전송은 공유 스케줄러에 예약되므로 전송 사이에 스레드를 붙잡지 않는다. 세션이 닫히면 남은 전송이 바로 취소된다. 전송 중에 예외가
+ * 나면 sink에 에러를 알리고 세션을 닫는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+    name = "hilite.chat.backend.type",
+    havingValue = "simulated",
+    matchIfMissing = true)
+public class SimulatedChatBackend implements ChatBackend {
+
+  private final ScheduledExecutorService chunkScheduler;
+  private final long chunkIntervalMillis;
+
+  public SimulatedChatBackend(
+      @Value("${hilite.chat.stream.scheduler-threads:2}") int schedulerThreads,
+      @Value("${hilite.chat.stream.chunk-interval-ms:200}") long chunkIntervalMillis) {
+    ScheduledThreadPoolExecutor scheduler =
+        new ScheduledThreadPoolExecutor(
+            schedulerThreads, Thread.ofPlatform().name("chat-chunk-", 0).daemon().factory());
+    // 취소된 전송이 원래 예약 시각까지 큐에 남지 않도록 한다
+    scheduler.setRemoveOnCancelPolicy(true);
+    this.chunkScheduler = scheduler;
+    this.chunkIntervalMillis = chunkIntervalMillis;
+  }
+
+  @Override
+  public void stream(String message, ChatStreamSession session, ChatTokenSink sink) {
+    // AI 서버 응답 시뮬레이션 - 긴 응답 생성
+    String fullResponse = generateLongResponse(message);
+
+    // 응답을 작은 청크로 분할 - 청크는 보낼 때마다 하나씩 잘라 낸다
+    Iterator<CharSequence> chunks = TextChunks.of(fullResponse, 20);
+
+    // AI 서버로부터 데이터 수신 시뮬레이션을 위해 일정 간격으로 전송
+    ScheduledFuture<?> emission =
+        chunkScheduler.scheduleAtFixedRate(
+            new ChunkEmission(chunks, session, sink),
+            chunkIntervalMillis,
+            chunkIntervalMillis,
+            TimeUnit.MILLISECONDS);
+    session.onClose(() -> emission.cancel(false));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    chunkScheduler.shutdownNow();
+  }
+
+  /** 긴 응답 생성 (스트리밍용) */
+  private String generateLongResponse(String message) {
+
+    String response =
+        "사용자님의 질문 '"
+            + message
+            + "'에 대해 상세히 답변드리겠습니다. "
+
+            // 더미 긴 응답 생성
+            + "이것은 스트리밍 응답의 예시입니다. "
+            + "실제 AI 챗봇에서는 이 부분에서 대용량의 데이터나 복잡한 분석 결과를 "
+            + "점진적으로 전송할 수 있습니다. "
+            + "WebFlux를 사용하면 이러한 스트리밍 응답을 매우 효율적으로 처리할 수 있으며, "
+            + "사용자는 전체 응답이 완료되기를 기다릴 필요 없이 "
+            + "실시간으로 응답을 받아볼 수 있습니다. "
+            + "이는 특히 ChatGPT와 같은 AI 서비스에서 많이 사용되는 패턴입니다. "
+            + "추가적인 질문이 있으시면 언제든 말씀해 주세요!";
+
+    return response;
+  }
+
+  /** 예약 실행마다 다음 청크 하나를 보낸다. 같은 예약 작업은 겹쳐 실행되지 않는다. */
+  private static final class ChunkEmission implements Runnable {
+
+    private final Iterator<CharSequence> chunks;
+    private final ChatStreamSession session;
+    private final ChatTokenSink sink;
+
+    private ChunkEmission(
+        Iterator<CharSequence> chunks, ChatStreamSession session, ChatTokenSink sink) {
+      this.chunks = chunks;
+      this.session = session;
+      this.sink = sink;
+    }
+
+    @Override
+    public void run() {
+      if (session.isClosed()) {
+        return;
+      }
+
+      try {
+        if (chunks.hasNext()) {
+          sink.onToken(chunks.next());
+        }
+        if (!chunks.hasNext()) {
+          sink.onComplete();
+        }
+      } catch (RuntimeException e) {
+        // 예외가 예약 작업 밖으로 나가면 반복 실행만 조용히 멈추고 클라이언트는 타임아웃까지 기다린다
+        log.warn("Simulated chunk emission failed: {}", e.toString());
+        try {
+          sink.onError(e);
+        } finally {
+          // 예약 취소와 동시 세션 슬롯 반환은 세션 종료에 걸려 있다
+          session.close();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package org.example.hilite.service;
+
+/** 클라이언트가 읽는 속도보다 청크가 빨리 쌓여 전송 버퍼가 가득 찼을 때의 처리 방식 */
+public enum SlowConsumerPolicy {
+
+  /** 새 청크를 버린다. 응답 일부가 빠지지만 메모리와 연결은 그대로 유지된다. */
+  DROP,
+
+  /** 새 청크를 마지막 대기 프레임에 이어 붙인다. 내용은 잃지 않지만 대기 프레임이 길어진다. */
+  COALESCE,
+
+  /** 연결을 끊는다. 클라이언트는 다시 연결해 이어 받아야 한다. */
+  DISCONNECT
+}
@@ -0,0 +1,311 @@
+package org.example.hilite.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 스트리밍 청크를 클라이언트 속도에 맞춰 보내는 연결별 전송 버퍼.
+ *
+ * <p>청크를 만드는 쪽(청크 스케줄러, 백엔드 읽기 스레드)은 버퍼에 넣기만 하고 소켓 쓰기에서 막히지 않는다. 실제 전송은 연결마다 하나씩 도는 가상
+ * 스레드가 맡고, 이전 전송이 막혀 있는 동안 쌓인 청크는 다음 전송 때 한 프레임으로 합쳐 보낸다. 그래도 대기 프레임이 buffer-size에 이르면 느린
+ * 클라이언트로 보고 {@link SlowConsumerPolicy}에 따라 처리한다.
+ *
+ * <p>buffer-size는 프레임 수만 제한하므로 coalesce 정책에서는 마지막 프레임이 토큰마다 길어진다. 대기 중인 텍스트가 max-pending-chars를
+ * 넘으면 더 합치지 않고 disconnect처럼 연결을 끊는다. 클라이언트는 Last-Event-ID로 다시 붙어 이어 받을 수 있다.
+ *
+ * <p>chat.stream.buffer.depth는 청크를 넣은 직후의 대기 프레임 수, chat.stream.write는 전송 한 번이 막혀 있던 시간,
+ * chat.stream.blocked는 연결 하나가 전송에 막혀 있던 시간의 합이다.
+ */
+@Component
+@Slf4j
+public class SseDelivery {
+
+  private final ExecutorService writers;
+  private final int bufferSize;
+  private final int maxPendingChars;
+  private final SlowConsumerPolicy policy;
+  private final DistributionSummary bufferDepth;
+  private final Timer writeTime;
+  private final Timer streamBlockedTime;
+  private final Counter coalesced;
+  private final Counter overflows;
+
+  public SseDelivery(
+      MeterRegistry meterRegistry,
+      @Value("${hilite.chat.stream.outbound.buffer-size:32}") int bufferSize,
+      @Value("${hilite.chat.stream.outbound.max-pending-chars:65536}") int maxPendingChars,
+      @Value("${hilite.chat.stream.outbound.slow-consumer-policy:coalesce}")
+          SlowConsumerPolicy policy) {
+    this.writers =
+        Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("chat-sse-writer-", 0).factory());
+    this.bufferSize = bufferSize;
+    this.maxPendingChars = maxPendingChars;
+    this.policy = policy;
+    this.bufferDepth =
+        DistributionSummary.builder("chat.stream.buffer.depth").register(meterRegistry);
+    this.writeTime = Timer.builder("chat.stream.write").register(meterRegistry);
+    this.streamBlockedTime = Timer.builder("chat.stream.blocked").register(meterRegistry);
+    this.coalesced = Counter.builder("chat.stream.coalesced").register(meterRegistry);
+    this.overflows =
+        Counter.builder("chat.stream.overflow")
+            .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry);
+  }
+
+  /** 클라이언트 연결 하나의 전송 버퍼를 연다. 이벤트 id는 streamId와 청크 순번으로 만든다. */
+  public Outbound open(SseEmitter emitter, String streamId, String sessionId) {
+    return new Outbound(emitter, new SseFrameEncoder(streamId, sessionId));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    writers.shutdownNow();
+  }
+
+  /**
+   * 연결 하나의 대기 프레임들. 프레임마다 하나 이상의 청크를 이어 붙인 텍스트와 마지막 청크의 순번을 가진다.
+   *
+   * <p>SseEmitter의 완료, 타임아웃, 에러 콜백을 여기서 한 번만 등록하고, 연결이 끝나면 {@link #onDisconnect}로 등록한 작업을 실행한다.
+   */
+  public final class Outbound {
+
+    private final SseEmitter emitter;
+    private final SseFrameEncoder frames;
+    private final Deque<PendingFrame> pending = new ArrayDeque<>();
+    // pending에 있는 텍스트의 문자 수
+    private int pendingChars;
+    private Runnable disconnectAction;
+    private boolean completing;
+    private boolean draining;
+    private boolean closed;
+    // 전송 스레드만 쓰고 연결이 끝날 때 읽는다
+    private volatile long blockedNanos;
+
+    private Outbound(SseEmitter emitter, SseFrameEncoder frames) {
+      this.emitter = emitter;
+      this.frames = frames;
+      emitter.onCompletion(this::close);
+      emitter.onError(e -> close());
+      emitter.onTimeout(
+          () -> {
+            close();
+            emitter.complete();
+          });
+    }
+
+    public SseEmitter emitter() {
+      return emitter;
+    }
+
+    /** 연결이 끝날 때 실행할 작업을 등록한다. 이미 끝났으면 바로 실행한다. */
+    public void onDisconnect(Runnable action) {
+      synchronized (this) {
+        if (!closed) {
+          disconnectAction = action;
+          return;
+        }
+      }
+      action.run();
+    }
+
+    public synchronized boolean isClosed() {
+      return closed;
+    }
+
+    /** seq번 청크를 대기 프레임에 넣는다. 연결이 끝났거나 정책에 따라 버렸으면 false. */
+    public boolean offer(long seq, CharSequence chunk) {
+      boolean startWriter;
+      synchronized (this) {
+        if (closed || completing) {
+          return false;
+        }
+        if (pending.size() < bufferSize) {
+          pending.addLast(new PendingFrame(seq, chunk));
+          pendingChars += chunk.length();
+        } else if (!overflow(seq, chunk)) {
+          return false;
+        }
+        bufferDepth.record(pending.size());
+        startWriter = startWriter();
+      }
+      if (startWriter) {
+        writers.execute(this::drain);
+      }
+      return true;
+    }
+
+    /** 남은 프레임을 모두 보낸 뒤 완료 이벤트를 보내고 연결을 닫는다 */
+    public void complete() {
+      boolean startWriter;
+      synchronized (this) {
+        if (closed || completing) {
+          return;
+        }
+        completing = true;
+        startWriter = startWriter();
+      }
+      if (startWriter) {
+        writers.execute(this::drain);
+      }
+    }
+
+    /** 연결을 끝낸 것으로 표시하고 남은 프레임을 버린다. emitter는 호출자가 정리한다. */
+    public void close() {
+      Runnable action;
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        pending.clear();
+        pendingChars = 0;
+        action = disconnectAction;
+        disconnectAction = null;
+      }
+      streamBlockedTime.record(blockedNanos, TimeUnit.NANOSECONDS);
+      if (action != null) {
+        action.run();
+      }
+    }
+
+    // synchronized 안에서 호출한다. 청크를 대기 프레임에 남겼으면 true.
+    private boolean overflow(long seq, CharSequence chunk) {
+      overflows.increment();
+      switch (policy) {
+        case COALESCE -> {
+          if (pendingChars + chunk.length() > maxPendingChars) {
+            log.warn("Disconnecting slow SSE client with {} chars pending", pendingChars);
+            writers.execute(this::disconnect);
+            return false;
+          }
+          coalesced.increment();
+          pending.getLast().append(seq, chunk);
+          pendingChars += chunk.length();
+          return true;
+        }
+        case DISCONNECT -> {
+          log.warn("Disconnecting slow SSE client with {} frames pending", pending.size());
+          // close()의 정리 작업과 emitter 완료는 막힌 전송과 락을 다툴 수 있으므로 다른 스레드에 맡긴다
+          writers.execute(this::disconnect);
+          return false;
+        }
+        default -> {
+          return false;
+        }
+      }
+    }
+
+    private void disconnect() {
+      close();
+      emitter.complete();
+    }
+
+    // synchronized 안에서 호출한다. 전송 스레드가 없을 때만 새로 띄운다.
+    private boolean startWriter() {
+      if (draining) {
+        return false;
+      }
+      draining = true;
+      return true;
+    }
+
+    private void drain() {
+      while (true) {
+        PendingFrame frame = null;
+        synchronized (this) {
+          if (closed) {
+            draining = false;
+            return;
+          }
+          if (!pending.isEmpty()) {
+            frame = takeAll();
+          } else if (!completing) {
+            draining = false;
+            return;
+          }
+        }
+
+        byte[] bytes =
+            frame != null
+                ? frames.encode(frame.seq, frame.text, false)
+                : frames.encode(-1, "", true);
+        if (!send(bytes)) {
+          return;
+        }
+        if (frame == null) {
+          // 완료 이벤트까지 보냈다
+          disconnect();
+          return;
+        }
+      }
+    }
+
+    // 밀려 있던 프레임을 하나로 합친다
+    private PendingFrame takeAll() {
+      pendingChars = 0;
+      PendingFrame first = pending.removeFirst();
+      if (!pending.isEmpty()) {
+        coalesced.increment(pending.size());
+        while (!pending.isEmpty()) {
+          PendingFrame next = pending.removeFirst();
+          first.append(next.seq, next.text);
+        }
+      }
+      return first;
+    }
+
+    private boolean send(byte[] frame) {
+      long start = System.nanoTime();
+      Exception failure = null;
+      try {
+        emitter.send(Set.of(new DataWithMediaType(frame, MediaType.TEXT_PLAIN)));
+      } catch (Exception e) {
+        failure = e;
+      }
+      long elapsed = System.nanoTime() - start;
+      blockedNanos += elapsed;
+      writeTime.record(elapsed, TimeUnit.NANOSECONDS);
+
+      if (failure != null) {
+        // 클라이언트가 떠난 것이므로 생성은 건드리지 않고 연결만 끝낸다
+        log.debug("SSE client went away: {}", failure.toString());
+        disconnect();
+        return false;
+      }
+      return true;
+    }
+  }
+
+  private static final class PendingFrame {
+
+    private final StringBuilder text;
+    private long seq;
+
+    private PendingFrame(long seq, CharSequence chunk) {
+      this.seq = seq;
+      this.text = new StringBuilder(chunk);
+    }
+
+    private void append(long seq, CharSequence chunk) {
+      this.seq = seq;
+      text.append(chunk);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+package org.example.hilite.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Arrays;
+
+/**
+ * 스트리밍 청크 하나를 완성된 SSE "message" 이벤트 바이트로 직렬화한다.
+ *
+ * <p>결과는 {@code StreamingChatResponseDto}를 Jackson으로 직렬화해
+ * {@code SseEmitter.event().name("message")}로 보낸 것과 같은 바이트다. 청크마다 바뀌는 것은 chunk 문자열뿐이라 나머지 부분은
+ * 스트림 시작 시 한 번만 인코딩해 두고, chunk는 JSON 이스케이프와 UTF-8 인코딩을 한 번에 하면서 스트림 동안 재사용하는 버퍼에 바로 쓴다.
+ *
+ * <p>청크 이벤트에는 {@code id:<streamId>-<seq>}를 붙여 클라이언트가 Last-Event-ID로 이어 받을 수 있게 한다.
+ *
+ * <p>스레드 안전하지 않다. 스트림 하나가 인스턴스 하나를 쓴다.
+ */
+final class SseFrameEncoder {
+
+  private static final byte[] PREFIX = "event:message\ndata:{\"chunk\":\"".getBytes(UTF_8);
+  private static final byte[] NEWLINE = {'\n'};
+  private static final byte[] HEX = "0123456789abcdef".getBytes(UTF_8);
+
+  private final byte[] idPrefix;
+  private final byte[] textSuffix;
+  private final byte[] completeSuffix;
+  private byte[] buffer = new byte[256];
+  private int size;
+
+  SseFrameEncoder(String streamId, String sessionId) {
+    this.idPrefix = ("id:" + streamId + '-').getBytes(UTF_8);
+    String sessionIdJson = "null";
+    if (sessionId != null) {
+      writeJsonString(sessionId);
+      sessionIdJson = '"' + new String(buffer, 0, size, UTF_8) + '"';
+    }
+    this.textSuffix = suffix(sessionIdJson, false, "text");
+    this.completeSuffix = suffix(sessionIdJson, true, "complete");
+  }
+
+  /** 청크를 담은 이벤트 프레임. seq가 음수면 id 없이 만든다. 반환한 배열은 호출자 소유다. */
+  byte[] encode(long seq, CharSequence chunk, boolean complete) {
+    size = 0;
+    if (seq >= 0) {
+      write(idPrefix);
+      writeDigits(seq);
+      write(NEWLINE);
+    }
+    write(PREFIX);
+    writeJsonString(chunk);
+    write(complete ? completeSuffix : textSuffix);
+    // SseEmitter는 핸들러 초기화 전 보낸 데이터를 참조로 들고 있으므로 버퍼 자체를 넘기지 않는다
+    return Arrays.copyOf(buffer, size);
+  }
+
+  private static byte[] suffix(String sessionIdJson, boolean complete, String type) {
+    return ("\",\"sessionId\":"
+            + sessionIdJson
+            + ",\"complete\":"
+            + complete
+            + ",\"type\":\""
+            + type
+            + "\"}\n\n")
+        .getBytes(UTF_8);
+  }
+
+  /** Jackson 기본 설정과 같은 규칙으로 이스케이프한다: 따옴표, 역슬래시, 제어 문자만 바꾸고 나머지는 UTF-8 그대로 쓴다 */
+  private void writeJsonString(CharSequence value) {
+    int length = value.length();
+    // 문자 하나는 최대 6바이트(\\u00XX)까지 늘어난다
+    ensureCapacity(length * 6);
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        writeAscii(c);
+      } else if (c < 0x800) {
+        buffer[size++] = (byte) (0xc0 | (c >> 6));
+        buffer[size++] = (byte) (0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        buffer[size++] = (byte) (0xf0 | (codePoint >> 18));
+        buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buffer[size++] = (byte) (0x80 | (codePoint & 0x3f));
+      } else {
+        // 짝이 없는 서로게이트는 String.getBytes와 같이 대체 문자로 바꾼다
+        char encoded = Character.isSurrogate(c) ? '\uFFFD' : c;
+        buffer[size++] = (byte) (0xe0 | (encoded >> 12));
+        buffer[size++] = (byte) (0x80 | ((encoded >> 6) & 0x3f));
+        buffer[size++] = (byte) (0x80 | (encoded & 0x3f));
+      }
+    }
+  }
+
+  private void writeAscii(char c) {
+    switch (c) {
+      case '"', '\\' -> {
+        buffer[size++] = '\\';
+        buffer[size++] = (byte) c;
+      }
+      case '\n' -> writeShortEscape('n');
+      case '\r' -> writeShortEscape('r');
+      case '\t' -> writeShortEscape('t');
+      case '\b' -> writeShortEscape('b');
+      case '\f' -> writeShortEscape('f');
+      default -> {
+        if (c < 0x20) {
+          buffer[size++] = '\\';
+          buffer[size++] = 'u';
+          buffer[size++] = '0';
+          buffer[size++] = '0';
+          buffer[size++] = HEX[c >> 4];
+          buffer[size++] = HEX[c & 0xf];
+        } else {
+          buffer[size++] = (byte) c;
+        }
+      }
+    }
+  }
+
+  private void writeShortEscape(char c) {
+    buffer[size++] = '\\';
+    buffer[size++] = (byte) c;
+  }
+
+  private void writeDigits(long value) {
+    int digits = 1;
+    for (long rest = value / 10; rest > 0; rest /= 10) {
+      digits++;
+    }
+    ensureCapacity(digits);
+    for (int i = size + digits - 1; i >= size; i--) {
+      buffer[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    size += digits;
+  }
+
+  private void write(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, size, bytes.length);
+    size += bytes.length;
+  }
+
+  private void ensureCapacity(int additional) {
+    if (size + additional > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+    }
+  }
+}
@@ -0,0 +1,61 @@
+package org.example.hilite.service;
+
+import java.nio.CharBuffer;
+import java.text.BreakIterator;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * 문자열을 최대 길이 이하의 청크로 차례대로 나눈다.
+ *
+ * <p>청크 경계는 자소 클러스터 경계에만 놓이므로 서로게이트 쌍, 결합 문자, 한글 조합형 자모가 두 청크로 갈라지지 않는다. 각 청크는 원본 문자열을
+ * 가리키는 {@link CharSequence} 뷰이며 다음 청크를 요청할 때 경계를 하나씩 계산한다.
+ */
+final class TextChunks implements Iterator<CharSequence> {
+
+  private final String text;
+  private final int maxChars;
+  private final BreakIterator graphemes;
+  private int start;
+
+  private TextChunks(String text, int maxChars) {
+    if (maxChars < 1) {
+      throw new IllegalArgumentException("maxChars must be positive: " + maxChars);
+    }
+    this.text = text;
+    this.maxChars = maxChars;
+    this.graphemes = BreakIterator.getCharacterInstance(Locale.ROOT);
+    this.graphemes.setText(text);
+  }
+
+  static TextChunks of(String text, int maxChars) {
+    return new TextChunks(text, maxChars);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return start < text.length();
+  }
+
+  @Override
+  public CharSequence next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    int end = boundaryBefore(start + maxChars);
+    CharSequence chunk = CharBuffer.wrap(text, start, end);
+    start = end;
+    return chunk;
+  }
+
+  /** {@code limit} 이하에서 가장 가까운 클러스터 경계 */
+  private int boundaryBefore(int limit) {
+    if (limit >= text.length()) {
+      return text.length();
+    }
+    int end = graphemes.isBoundary(limit) ? limit : graphemes.preceding(limit);
+    // 클러스터 하나가 maxChars보다 길면 자르지 않고 그 클러스터 전체를 한 청크로 보낸다
+    return end > start ? end : graphemes.following(start);
+  }
+}
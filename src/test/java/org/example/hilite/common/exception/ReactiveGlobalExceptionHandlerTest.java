@@ -0,0 +1,54 @@
+package org.example.hilite.common.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.BadCredentialsException;
+
+class ReactiveGlobalExceptionHandlerTest {
+
+  private final ReactiveGlobalExceptionHandler handler = new ReactiveGlobalExceptionHandler();
+  private final MockServerWebExchange exchange =
+      MockServerWebExchange.from(MockServerHttpRequest.post("/login"));
+
+  @Test
+  void customExceptionsKeepTheirStatusAndCode() {
+    assertError(
+        handler.handleCustomException(new CustomException(ErrorCode.LOGIN_BUSY), exchange),
+        HttpStatus.SERVICE_UNAVAILABLE,
+        "LOGIN_BUSY");
+    assertError(
+        handler.handleCustomException(
+            new CustomException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS), exchange),
+        HttpStatus.TOO_MANY_REQUESTS,
+        "TOO_MANY_LOGIN_ATTEMPTS");
+  }
+
+  @Test
+  void authenticationFailuresAreUnauthorized() {
+    assertError(
+        handler.handleAuthenticationException(new BadCredentialsException("bad"), exchange),
+        HttpStatus.UNAUTHORIZED,
+        "AUTHENTICATION_FAILED");
+  }
+
+  @Test
+  void illegalArgumentsAreBadRequests() {
+    assertError(
+        handler.handleIllegalArgumentException(
+            new IllegalArgumentException("이미 존재하는 아이디입니다."), exchange),
+        HttpStatus.BAD_REQUEST,
+        "ILLEGAL_ARGUMENT");
+  }
+
+  private static void assertError(
+      ResponseEntity<ApiErrorResponse> response, HttpStatus status, String code) {
+    assertEquals(status, response.getStatusCode());
+    assertEquals(code, response.getBody().code());
+    assertEquals("/login", response.getBody().path());
+  }
+}
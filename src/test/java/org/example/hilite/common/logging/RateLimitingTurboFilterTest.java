@@ -0,0 +1,76 @@
+package org.example.hilite.common.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RateLimitingTurboFilterTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final LoggerContext context = new LoggerContext();
+  private final RateLimitingTurboFilter filter = new RateLimitingTurboFilter(now::get);
+
+  @BeforeEach
+  void setUp() {
+    context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+    filter.setContext(context);
+    filter.setLoggers(" org.example.hilite.filter ,\n org.springframework.security ");
+    filter.setMaxEventsPerSecond(2);
+    filter.start();
+  }
+
+  @Test
+  void limitsEachLoggerSeparatelyWithinOneSecond() {
+    Logger jwtFilter = context.getLogger("org.example.hilite.filter.JwtFilter");
+    Logger reactiveJwtFilter = context.getLogger("org.example.hilite.filter.ReactiveJwtFilter");
+
+    assertEquals(FilterReply.NEUTRAL, info(jwtFilter));
+    assertEquals(FilterReply.NEUTRAL, info(jwtFilter));
+    assertEquals(FilterReply.DENY, info(jwtFilter));
+    assertEquals(FilterReply.NEUTRAL, info(reactiveJwtFilter));
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertEquals(FilterReply.NEUTRAL, info(jwtFilter));
+  }
+
+  @Test
+  void passesWarningsLevelChecksAndOtherLoggers() {
+    Logger jwtFilter = context.getLogger("org.example.hilite.filter.JwtFilter");
+    Logger service = context.getLogger("org.example.hilite.service.ChatBotService");
+    Logger similarName = context.getLogger("org.example.hilite.filterchain.Other");
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals(FilterReply.NEUTRAL, info(service));
+      assertEquals(FilterReply.NEUTRAL, info(similarName));
+      assertEquals(
+          FilterReply.NEUTRAL, filter.decide(null, jwtFilter, Level.WARN, "failed", null, null));
+      assertEquals(
+          FilterReply.NEUTRAL, filter.decide(null, jwtFilter, Level.DEBUG, null, null, null));
+    }
+  }
+
+  @Test
+  void disabledLevelsDoNotUsePermits() {
+    Logger jwtFilter = context.getLogger("org.example.hilite.filter.JwtFilter");
+    jwtFilter.setLevel(Level.INFO);
+
+    for (int i = 0; i < 5; i++) {
+      assertEquals(
+          FilterReply.NEUTRAL, filter.decide(null, jwtFilter, Level.DEBUG, "skipped", null, null));
+    }
+    assertEquals(FilterReply.NEUTRAL, info(jwtFilter));
+    assertEquals(FilterReply.NEUTRAL, info(jwtFilter));
+    assertEquals(FilterReply.DENY, info(jwtFilter));
+  }
+
+  private FilterReply info(Logger logger) {
+    return filter.decide(null, logger, Level.INFO, "request {}", new Object[] {"/chat"}, null);
+  }
+}
@@ -0,0 +1,53 @@
+package org.example.hilite.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+  private static final int INSERTIONS = 100_000;
+
+  @Test
+  void insertedKeysAreAlwaysFound() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, 0.01, 42L);
+    for (int i = 0; i < INSERTIONS; i++) {
+      filter.put("member" + i);
+    }
+
+    for (int i = 0; i < INSERTIONS; i++) {
+      assertTrue(filter.mightContain("member" + i));
+    }
+  }
+
+  @Test
+  void falsePositiveRateStaysNearTargetAtExpectedSize() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, 0.01, 42L);
+    for (int i = 0; i < INSERTIONS; i++) {
+      filter.put("member" + i);
+    }
+
+    int falsePositives = 0;
+    for (int i = 0; i < INSERTIONS; i++) {
+      if (filter.mightContain("unknown" + i)) {
+        falsePositives++;
+      }
+    }
+    double observed = (double) falsePositives / INSERTIONS;
+
+    // 비트 수를 2의 거듭제곱으로 올리므로 목표보다 낮게 나온다
+    assertTrue(observed < 0.01, "observed " + observed);
+    assertTrue(filter.expectedFalsePositiveRate() < 0.01);
+    assertEquals(observed, filter.expectedFalsePositiveRate(), 0.002);
+  }
+
+  @Test
+  void emptyFilterContainsNothing() {
+    BloomFilter filter = new BloomFilter(1_000, 0.01, 42L);
+
+    assertFalse(filter.mightContain("member"));
+    assertEquals(0.0, filter.expectedFalsePositiveRate());
+  }
+}
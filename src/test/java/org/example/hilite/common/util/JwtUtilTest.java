@@ -0,0 +1,80 @@
+package org.example.hilite.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class JwtUtilTest {
+
+  private static final String SECRET =
+      "test-jwt-secret-for-testing-test-jwt-secret-for-testing-test-jwt-secret-for-testing";
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+  private final JwtUtil jwtUtil =
+      new JwtUtil(
+          SECRET,
+          false,
+          new TokenVersionStore(),
+          100,
+          clock,
+          () -> TimeUnit.MILLISECONDS.toNanos(clock.millis()));
+
+  @Test
+  void verifiedClaimsAreReusedUntilTheTokenExpires() {
+    String token = jwtUtil.generateToken("user");
+    Claims first = jwtUtil.parseClaims(token);
+
+    clock.advance(Duration.ofMinutes(59));
+
+    assertSame(first, jwtUtil.parseClaims("Bearer " + token));
+    assertEquals("user", first.getSubject());
+  }
+
+  @Test
+  void cachedClaimsAreNotServedPastExp() {
+    String token = jwtUtil.generateToken("user");
+    jwtUtil.parseClaims(token);
+
+    clock.advance(Duration.ofHours(1).plusSeconds(1));
+
+    assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseClaims(token));
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
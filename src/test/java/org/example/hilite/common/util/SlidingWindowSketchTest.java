@@ -0,0 +1,71 @@
+package org.example.hilite.common.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowSketchTest {
+
+  private final AtomicLong now = new AtomicLong();
+  private final SlidingWindowSketch sketch =
+      new SlidingWindowSketch(Duration.ofSeconds(60), 6, 4, 1024, now::get, 42L);
+
+  @Test
+  void countsEachKeySeparately() {
+    for (int i = 0; i < 5; i++) {
+      sketch.increment("alice");
+    }
+    sketch.increment("bob");
+
+    assertEquals(5, sketch.estimate("alice"));
+    assertEquals(1, sketch.estimate("bob"));
+    assertEquals(0, sketch.estimate("carol"));
+  }
+
+  @Test
+  void oldBucketsDropOutOfWindow() {
+    sketch.increment("alice");
+    advanceSeconds(30);
+    sketch.increment("alice");
+    assertEquals(2, sketch.estimate("alice"));
+
+    // 첫 실패가 들어간 구간이 window 밖으로 나간다
+    advanceSeconds(30);
+    assertEquals(1, sketch.estimate("alice"));
+
+    advanceSeconds(30);
+    assertEquals(0, sketch.estimate("alice"));
+  }
+
+  @Test
+  void reusedBucketIsClearedBeforeCounting() {
+    sketch.increment("alice");
+    advanceSeconds(60);
+    sketch.increment("alice");
+
+    assertEquals(1, sketch.estimate("alice"));
+  }
+
+  @Test
+  void manyDistinctKeysNeverUndercountAndKeepMemoryFixed() {
+    long memory = sketch.memoryBytes();
+    for (int i = 0; i < 100_000; i++) {
+      sketch.increment("user" + i);
+    }
+    for (int i = 0; i < 10; i++) {
+      sketch.increment("target");
+    }
+
+    assertTrue(sketch.estimate("target") >= 10);
+    assertEquals(memory, sketch.memoryBytes());
+    assertEquals(6L * 4 * 1024 * Integer.BYTES, memory);
+  }
+
+  private void advanceSeconds(long seconds) {
+    now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+  }
+}
@@ -0,0 +1,54 @@
+package org.example.hilite.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+
+class AdaptiveBCryptPasswordEncoderTest {
+
+  @Test
+  void costIsReadFromStoredHash() {
+    assertEquals(4, AdaptiveBCryptPasswordEncoder.costOf(BCrypt.hashpw("pw", BCrypt.gensalt(4))));
+    assertEquals(12, AdaptiveBCryptPasswordEncoder.costOf("$2a$12$abcdefghijklmnopqrstuv"));
+    assertEquals(-1, AdaptiveBCryptPasswordEncoder.costOf("plain-text"));
+    assertEquals(-1, AdaptiveBCryptPasswordEncoder.costOf(null));
+  }
+
+  @Test
+  void hashesWithDifferentCostAreUpgradedInBothDirections() {
+    AdaptiveBCryptPasswordEncoder encoder = new AdaptiveBCryptPasswordEncoder(5);
+
+    assertTrue(encoder.upgradeEncoding(BCrypt.hashpw("pw", BCrypt.gensalt(4))));
+    assertTrue(encoder.upgradeEncoding(BCrypt.hashpw("pw", BCrypt.gensalt(6))));
+    assertFalse(encoder.upgradeEncoding(encoder.encode("pw")));
+  }
+
+  @Test
+  void legacyHashWithoutPrefixMatchesAndIsUpgraded() {
+    AdaptiveBCryptPasswordEncoder bcrypt = new AdaptiveBCryptPasswordEncoder(4);
+    DelegatingPasswordEncoder encoder =
+        new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+    encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    String legacy = BCrypt.hashpw("pw", BCrypt.gensalt(4));
+
+    assertTrue(encoder.matches("pw", legacy));
+    assertTrue(encoder.upgradeEncoding(legacy));
+
+    String upgraded = encoder.encode("pw");
+    assertTrue(upgraded.startsWith("{bcrypt}"));
+    assertTrue(encoder.matches("pw", upgraded));
+    assertFalse(encoder.upgradeEncoding(upgraded));
+  }
+
+  @Test
+  void calibratedCostStaysWithinBounds() {
+    assertEquals(4, AdaptiveBCryptPasswordEncoder.calibrate(Duration.ZERO, 4, 6));
+    assertEquals(6, AdaptiveBCryptPasswordEncoder.calibrate(Duration.ofMinutes(1), 4, 6));
+  }
+}
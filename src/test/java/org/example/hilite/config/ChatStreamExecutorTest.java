@@ -0,0 +1,90 @@
+package org.example.hilite.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.example.hilite.service.ChatStreamSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ChatStreamExecutorTest {
+
+  private static final int STREAMS = 10_000;
+
+  private ChatStreamExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void tenThousandConcurrentStreamsStayWithinPlatformThreadBudget() throws Exception {
+    executor = new ChatStreamExecutor(STREAMS, STREAMS);
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    int baseline = threads.getThreadCount();
+
+    CountDownLatch started = new CountDownLatch(STREAMS);
+    CountDownLatch release = new CountDownLatch(1);
+    for (int i = 0; i < STREAMS; i++) {
+      // 모든 세션이 동시에 열려 있도록 release 전까지 블로킹한다
+      assertTrue(
+          executor.submit(
+              "user" + i,
+              newSession(),
+              () -> {
+                started.countDown();
+                awaitQuietly(release);
+              }));
+    }
+
+    assertTrue(started.await(30, TimeUnit.SECONDS));
+    // 가상 스레드는 ThreadMXBean에 잡히지 않으므로 늘어난 수는 캐리어 스레드 정도여야 한다
+    int budget = Runtime.getRuntime().availableProcessors() + 16;
+    int grown = threads.getThreadCount() - baseline;
+    release.countDown();
+
+    assertTrue(grown <= budget, "platform threads grew by " + grown + ", budget " + budget);
+  }
+
+  @Test
+  void rejectsStreamsBeyondPerUserLimitUntilSessionCloses() {
+    executor = new ChatStreamExecutor(100, 1);
+    ChatStreamSession first = newSession();
+
+    assertTrue(executor.submit("user", first, () -> {}));
+    assertFalse(executor.submit("user", newSession(), () -> {}));
+    assertTrue(executor.submit("other", newSession(), () -> {}));
+
+    first.close();
+    assertTrue(executor.submit("user", newSession(), () -> {}));
+  }
+
+  @Test
+  void rejectsStreamsBeyondGlobalLimit() {
+    executor = new ChatStreamExecutor(1, 1);
+    ChatStreamSession first = newSession();
+
+    assertTrue(executor.submit("a", first, () -> {}));
+    assertFalse(executor.submit("b", newSession(), () -> {}));
+
+    first.close();
+    assertTrue(executor.submit("b", newSession(), () -> {}));
+  }
+
+  private static ChatStreamSession newSession() {
+    return new ChatStreamSession();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
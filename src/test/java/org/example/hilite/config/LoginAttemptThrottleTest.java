@@ -0,0 +1,57 @@
+package org.example.hilite.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.example.hilite.common.exception.CustomException;
+import org.example.hilite.common.exception.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+class LoginAttemptThrottleTest {
+
+  private final LoginAttemptThrottle throttle =
+      new LoginAttemptThrottle(
+          new SimpleMeterRegistry(), Duration.ofMinutes(10), 10, 3, 100, 4, 1024);
+
+  @Test
+  void usernameCaseVariantsShareOneFailureBudget() {
+    int address = 0;
+    for (String username : List.of("admin", "Admin", "ADMIN")) {
+      LoginAttemptThrottle.Attempt attempt = throttle.acquire(username, "10.0.0." + address++);
+      attempt.recordFailure();
+      attempt.release();
+    }
+
+    assertRejected("aDmin", "10.0.0.9");
+  }
+
+  @Test
+  void inFlightAttemptsCountAgainstTheLimitBeforeTheyFail() {
+    for (int i = 0; i < 3; i++) {
+      throttle.acquire("user", "10.0.0." + i);
+    }
+
+    assertRejected("user", "10.0.0.9");
+  }
+
+  @Test
+  void releasedAttemptsWithoutFailureDoNotCount() {
+    for (int i = 0; i < 10; i++) {
+      LoginAttemptThrottle.Attempt attempt = throttle.acquire("user", "10.0.0.1");
+      attempt.release();
+      attempt.release();
+    }
+
+    assertDoesNotThrow(() -> throttle.acquire("user", "10.0.0.1"));
+  }
+
+  private void assertRejected(String username, String address) {
+    CustomException e =
+        assertThrows(CustomException.class, () -> throttle.acquire(username, address));
+    assertEquals(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS, e.getErrorCode());
+  }
+}
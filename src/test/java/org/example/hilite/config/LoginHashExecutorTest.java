@@ -0,0 +1,78 @@
+package org.example.hilite.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.example.hilite.common.exception.CustomException;
+import org.example.hilite.common.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LoginHashExecutorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private LoginHashExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+    executor = new LoginHashExecutor(meterRegistry, 1, 1, Duration.ofMinutes(1));
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+    CompletableFuture<Boolean> queued = executor.submit(() -> true);
+
+    CompletableFuture<Boolean> rejected = executor.submit(() -> true);
+
+    assertBusy(rejected);
+    assertEquals(1.0, rejectedCount("full"));
+    release.countDown();
+    assertEquals(true, running.get(5, TimeUnit.SECONDS));
+    assertEquals(true, queued.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void rejectsTaskThatWaitedLongerThanQueueTimeout() throws Exception {
+    executor = new LoginHashExecutor(meterRegistry, 1, 10, Duration.ofMillis(10));
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Boolean> running = executor.submit(() -> await(release));
+    CompletableFuture<Boolean> expired = executor.submit(() -> true);
+
+    Thread.sleep(50);
+    release.countDown();
+
+    assertEquals(true, running.get(5, TimeUnit.SECONDS));
+    assertBusy(expired);
+    assertEquals(1.0, rejectedCount("timeout"));
+  }
+
+  private double rejectedCount(String reason) {
+    return meterRegistry.get("login.hash.rejected").tag("reason", reason).counter().count();
+  }
+
+  private static void assertBusy(CompletableFuture<?> future) {
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+    CustomException cause = (CustomException) e.getCause();
+    assertSame(ErrorCode.LOGIN_BUSY, cause.getErrorCode());
+  }
+
+  private static boolean await(CountDownLatch latch) {
+    try {
+      return latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
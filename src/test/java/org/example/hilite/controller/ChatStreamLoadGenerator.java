@@ -0,0 +1,170 @@
+package org.example.hilite.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * /chat/stream 부하 측정 도구. 서블릿(SseEmitter) 스택과 reactive 프로필을 같은 조건으로 비교할 때 쓴다.
+ *
+ * <p>connections개의 스트림을 동시에 열고, 모든 스트림이 첫 이벤트를 받아 열려 있는 동안 서버의 힙 사용량을 /actuator/metrics에서 읽어
+ * 연결 하나가 차지하는 힙과 힙 1GB당 연결 수를 계산한다. 첫 이벤트까지 걸린 시간과 완료까지 걸린 시간은 p50, p99로 출력한다.
+ *
+ * <p>서버는 스트림이 측정 동안 열려 있도록 hilite.chat.stream.chunk-interval-ms를 늘리고, 한 사용자로 많은 연결을 열 수 있게
+ * hilite.chat.stream.max-per-user를 connections 이상으로 올려 띄운다. 토큰은 /actuator/metrics에도 접근할 수 있어야 한다. 힙
+ * 사용량은 GC 시점에 따라 흔들리므로 같은 조건으로 여러 번 돌려 비교한다.
+ *
+ * <p>두 스택을 비교한 측정 결과는 아직 없다. reactive 프로필을 기본으로 바꾸기 전에 같은 서버 사양에서 두 프로필을 각각 띄워 이 도구로 재고, 연결 수를
+ * 늘려 가며 힙과 지연 시간을 비교한다.
+ *
+ * <pre>
+ * java ChatStreamLoadGenerator http://localhost:8080 &lt;jwt&gt; 2000
+ * </pre>
+ */
+public final class ChatStreamLoadGenerator {
+
+  private static final Pattern METRIC_VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.eE+-]+)");
+  private static final double BYTES_PER_GB = 1024.0 * 1024 * 1024;
+
+  private final HttpClient client;
+  private final String baseUrl;
+  private final String token;
+
+  private ChatStreamLoadGenerator(HttpClient client, String baseUrl, String token) {
+    this.client = client;
+    this.baseUrl = baseUrl;
+    this.token = token;
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 3) {
+      System.err.println("usage: ChatStreamLoadGenerator <baseUrl> <jwt> <connections>");
+      return;
+    }
+    int connections = Integer.parseInt(args[2]);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      HttpClient client = HttpClient.newBuilder().executor(executor).build();
+      new ChatStreamLoadGenerator(client, args[0], args[1]).run(executor, connections);
+    }
+  }
+
+  private void run(ExecutorService executor, int connections) throws Exception {
+    double baselineHeap = heapUsed();
+    long[] firstEventNanos = new long[connections];
+    long[] completionNanos = new long[connections];
+    AtomicInteger failures = new AtomicInteger();
+    CountDownLatch opened = new CountDownLatch(connections);
+    CountDownLatch finished = new CountDownLatch(connections);
+
+    for (int i = 0; i < connections; i++) {
+      int index = i;
+      executor.execute(
+          () -> {
+            try {
+              stream(index, firstEventNanos, completionNanos, opened);
+            } catch (Exception e) {
+              failures.incrementAndGet();
+            } finally {
+              // 실패한 연결 때문에 힙 측정이 끝없이 기다리지 않게 한다
+              if (firstEventNanos[index] == 0) {
+                opened.countDown();
+              }
+              finished.countDown();
+            }
+          });
+    }
+
+    opened.await();
+    double peakHeap = heapUsed();
+    finished.await(10, TimeUnit.MINUTES);
+
+    double perConnection = (peakHeap - baselineHeap) / connections;
+    System.out.printf("connections: %d (failed or rejected: %d)%n", connections, failures.get());
+    System.out.printf(
+        "heap: baseline %.1f MB, peak %.1f MB, %.1f KB per connection, %.0f connections per GB%n",
+        baselineHeap / (1024 * 1024),
+        peakHeap / (1024 * 1024),
+        perConnection / 1024,
+        perConnection > 0 ? BYTES_PER_GB / perConnection : Double.NaN);
+    System.out.printf(
+        "first event: p50 %.1f ms, p99 %.1f ms%n",
+        percentileMillis(firstEventNanos, 0.50),
+        percentileMillis(firstEventNanos, 0.99));
+    System.out.printf(
+        "completion: p50 %.1f ms, p99 %.1f ms%n",
+        percentileMillis(completionNanos, 0.50),
+        percentileMillis(completionNanos, 0.99));
+  }
+
+  // 캐시된 응답을 재생하지 않도록 연결마다 다른 질문을 보낸다
+  private void stream(
+      int index, long[] firstEventNanos, long[] completionNanos, CountDownLatch opened)
+      throws IOException, InterruptedException {
+    String body = "{\"message\":\"load test " + index + "\",\"sessionId\":\"load-" + index + "\"}";
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(baseUrl + "/chat/stream"))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "application/json")
+            .header("Accept", "text/event-stream")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+
+    long start = System.nanoTime();
+    HttpResponse<Stream<String>> response =
+        client.send(request, HttpResponse.BodyHandlers.ofLines());
+    boolean rejected = false;
+    try (Stream<String> lines = response.body()) {
+      Iterator<String> iterator = lines.iterator();
+      while (iterator.hasNext()) {
+        String line = iterator.next();
+        if (line.startsWith("event:error")) {
+          rejected = true;
+        }
+        if (line.startsWith("data:") && firstEventNanos[index] == 0) {
+          firstEventNanos[index] = System.nanoTime() - start;
+          opened.countDown();
+        }
+      }
+    }
+    completionNanos[index] = System.nanoTime() - start;
+    if (response.statusCode() != 200 || rejected) {
+      throw new IOException("stream " + index + " failed with status " + response.statusCode());
+    }
+  }
+
+  private double heapUsed() throws IOException, InterruptedException {
+    HttpRequest request =
+        HttpRequest.newBuilder(
+                URI.create(baseUrl + "/actuator/metrics/jvm.memory.used?tag=area:heap"))
+            .header("Authorization", "Bearer " + token)
+            .build();
+    String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    Matcher matcher = METRIC_VALUE.matcher(body);
+    if (!matcher.find()) {
+      throw new IOException("Unexpected metrics response: " + body);
+    }
+    return Double.parseDouble(matcher.group(1));
+  }
+
+  // 0은 값을 받지 못한 연결이므로 뺀다
+  private static double percentileMillis(long[] nanos, double percentile) {
+    long[] values = Arrays.stream(nanos).filter(value -> value > 0).sorted().toArray();
+    if (values.length == 0) {
+      return Double.NaN;
+    }
+    int index = (int) Math.ceil(percentile * values.length) - 1;
+    return values[Math.max(index, 0)] / 1_000_000.0;
+  }
+}
@@ -0,0 +1,73 @@
+package org.example.hilite.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.example.hilite.entity.Member;
+import org.example.hilite.entity.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class MemberRepositoryTest {
+
+  @Autowired private MemberRepository memberRepository;
+  @Autowired private RoleRepository roleRepository;
+
+  @Test
+  void keysArePagedInIdOrder() {
+    for (int i = 0; i < 5; i++) {
+      memberRepository.save(member("user" + i));
+    }
+
+    List<MemberKeys> first = memberRepository.findKeysAfter(0, PageRequest.ofSize(2));
+    List<MemberKeys> rest =
+        memberRepository.findKeysAfter(first.get(1).id(), PageRequest.ofSize(10));
+
+    List<String> usernames = new ArrayList<>();
+    first.forEach(keys -> usernames.add(keys.username()));
+    rest.forEach(keys -> usernames.add(keys.username()));
+    assertEquals(List.of("user0", "user1", "user2", "user3", "user4"), usernames);
+    assertEquals("user0@example.com", first.get(0).email());
+  }
+
+  @Test
+  void listRowsAggregateRolesAndPageInIdOrder() {
+    Role admin = roleRepository.save(role("ROLE_ADMIN"));
+    Role user = roleRepository.save(role("ROLE_USER"));
+    Member first = member("admin");
+    first.addRole(user);
+    first.addRole(admin);
+    memberRepository.save(first);
+    memberRepository.save(member("guest"));
+
+    List<MemberListRow> page = memberRepository.findListRowsAfter(0, PageRequest.ofSize(1));
+    List<MemberListRow> next =
+        memberRepository.findListRowsAfter(page.get(0).id(), PageRequest.ofSize(10));
+
+    assertEquals(1, page.size());
+    assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), page.get(0).toDto().roles());
+    assertEquals(1, next.size());
+    assertEquals("guest", next.get(0).username());
+    assertEquals(List.of(), next.get(0).toDto().roles());
+  }
+
+  private static Role role(String name) {
+    Role role = new Role();
+    role.setName(name);
+    return role;
+  }
+
+  private static Member member(String username) {
+    Member member = new Member();
+    member.setUsername(username);
+    member.setPassword("{bcrypt}hash");
+    member.setEmail(username + "@example.com");
+    return member;
+  }
+}
@@ -0,0 +1,46 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AhoCorasickIntentClassifierTest {
+
+  private final AhoCorasickIntentClassifier classifier = compile();
+
+  private static AhoCorasickIntentClassifier compile() {
+    Map<String, List<String>> table = new LinkedHashMap<>();
+    table.put("greeting", List.of("안녕", "hello", "hi"));
+    table.put("help", List.of("도움", "help", "문제"));
+    return AhoCorasickIntentClassifier.compile(table);
+  }
+
+  @Test
+  void matchesKoreanAndEnglishKeywordsIgnoringCase() {
+    assertEquals("greeting", classifier.classify("안녕하세요"));
+    assertEquals("greeting", classifier.classify("HeLLo there"));
+    assertEquals("help", classifier.classify("로그인에 문제가 있어요"));
+    assertEquals("help", classifier.classify("I need HELP"));
+  }
+
+  @Test
+  void earlierIntentWinsWhenSeveralMatch() {
+    assertEquals("greeting", classifier.classify("help me, hello"));
+  }
+
+  @Test
+  void findsKeywordsThroughFailureLinks() {
+    // "hel" 다음에 실패 링크로 "h"부터 다시 맞춰야 "hi"를 찾는다
+    assertEquals("greeting", classifier.classify("helhi"));
+  }
+
+  @Test
+  void returnsNullWithoutKeyword() {
+    assertNull(classifier.classify("오늘 날씨 어때요?"));
+    assertNull(classifier.classify(""));
+  }
+}
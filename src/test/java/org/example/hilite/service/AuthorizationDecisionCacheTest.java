@@ -0,0 +1,69 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import org.example.hilite.common.event.PermissionChangedEvent;
+import org.example.hilite.entity.AccessPage;
+import org.example.hilite.entity.Role;
+import org.example.hilite.entity.RolePagePermission;
+import org.junit.jupiter.api.Test;
+
+class AuthorizationDecisionCacheTest {
+
+  private final DynamicPermissionService permissions = mock(DynamicPermissionService.class);
+  private final AuthorizationDecisionCache cache =
+      new AuthorizationDecisionCache(permissions, new SimpleMeterRegistry(), 100);
+
+  @Test
+  void decisionIsCachedPerRoleSetRegardlessOfOrder() {
+    when(permissions.currentIndex()).thenReturn(index(1, "/a/**"));
+    assertTrue(cache.hasPermission("/a/1", List.of("ROLE_USER", "ROLE_GUEST")));
+
+    // 같은 버전이면 인덱스를 다시 보지 않는다
+    when(permissions.currentIndex()).thenReturn(index(1));
+    assertTrue(cache.hasPermission("/a/1", List.of("ROLE_GUEST", "ROLE_USER", "ROLE_USER")));
+  }
+
+  @Test
+  void permissionChangeDropsCachedDecisions() {
+    when(permissions.currentIndex()).thenReturn(index(1, "/a/**"));
+    assertTrue(cache.hasPermission("/a/1", List.of("ROLE_USER")));
+    when(permissions.currentIndex()).thenReturn(index(1));
+
+    cache.onPermissionChanged(new PermissionChangedEvent("test"));
+
+    assertFalse(cache.hasPermission("/a/1", List.of("ROLE_USER")));
+  }
+
+  @Test
+  void newIndexVersionIsNotAnsweredFromOldDecisions() {
+    when(permissions.currentIndex()).thenReturn(index(1, "/a/**"));
+    assertTrue(cache.hasPermission("/a/1", List.of("ROLE_USER")));
+
+    when(permissions.currentIndex()).thenReturn(index(2));
+
+    assertFalse(cache.hasPermission("/a/1", List.of("ROLE_USER")));
+  }
+
+  private static PermissionIndex index(long version, String... userPaths) {
+    Role role = new Role();
+    role.setName("ROLE_USER");
+    List<RolePagePermission> granted =
+        Arrays.stream(userPaths)
+            .map(
+                path -> {
+                  RolePagePermission permission = new RolePagePermission();
+                  permission.setRole(role);
+                  permission.setAccessPage(new AccessPage(path));
+                  return permission;
+                })
+            .toList();
+    return PermissionIndex.of(version, granted, RoleInheritance.empty());
+  }
+}
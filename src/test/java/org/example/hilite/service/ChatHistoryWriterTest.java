@@ -0,0 +1,69 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.example.hilite.entity.ChatMessage;
+import org.example.hilite.entity.ChatMessage.MessageSender;
+import org.example.hilite.repository.ChatMessageRepository;
+import org.junit.jupiter.api.Test;
+
+class ChatHistoryWriterTest {
+
+  private final ChatMessageRepository repository = mock(ChatMessageRepository.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void savesQueuedMessagesInBatchesAndFlushesOnShutdown() throws Exception {
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    when(repository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<ChatMessage> batch = invocation.getArgument(0);
+              batchSizes.add(batch.size());
+              return batch;
+            });
+    ChatHistoryWriter writer =
+        new ChatHistoryWriter(repository, meterRegistry, 1000, 100, Duration.ofMillis(10));
+
+    for (int i = 0; i < 250; i++) {
+      assertTrue(writer.record("session", "user", MessageSender.USER, "message " + i));
+    }
+    writer.start();
+    writer.shutdown();
+
+    assertEquals(250, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    assertTrue(batchSizes.stream().allMatch(size -> size <= 100));
+    assertEquals(250, meterRegistry.counter("chat.history.written").count());
+  }
+
+  @Test
+  void dropsMessagesWhenQueueStaysFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    when(repository.saveAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              release.await();
+              return invocation.getArgument(0);
+            });
+    ChatHistoryWriter writer =
+        new ChatHistoryWriter(repository, meterRegistry, 1, 1, Duration.ofMillis(10));
+
+    assertTrue(writer.record("session", "user", MessageSender.USER, "first"));
+    assertFalse(writer.record("session", "user", MessageSender.USER, "second"));
+    assertEquals(1, meterRegistry.counter("chat.history.dropped").count());
+
+    release.countDown();
+    writer.start();
+    writer.shutdown();
+  }
+}
@@ -0,0 +1,98 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.hilite.entity.ChatMessage.MessageSender;
+import org.example.hilite.service.ConversationContext.Turn;
+import org.junit.jupiter.api.Test;
+
+class ChatResponseCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ChatResponseCache cache =
+      new ChatResponseCache(meterRegistry, 100, Duration.ofMinutes(1));
+
+  @Test
+  void normalizesCaseWhitespaceAndTrailingPunctuation() {
+    assertEquals("what is hilite", ChatResponseCache.normalize("  What   is HiLite?? "));
+    assertEquals("도움이 필요해요", ChatResponseCache.normalize("도움이  필요해요！"));
+  }
+
+  @Test
+  void replaysCompletedResponseForEquivalentPrompt() {
+    RecordingSink first = new RecordingSink();
+    ChatTokenSink recording =
+        cache.recording(firstTurn("How do I sign up?"), "How do I sign up?", first);
+    recording.onToken("Use ");
+    recording.onToken("/signup");
+    recording.onComplete();
+
+    RecordingSink second = new RecordingSink();
+    assertTrue(cache.replay(firstTurn("how do i sign up"), "how do i sign up", second));
+    assertEquals(List.of("Use ", "/signup"), second.tokens);
+    assertTrue(second.completed);
+    assertEquals(1, meterRegistry.timer("chat.response.cache.saved").count());
+  }
+
+  @Test
+  void doesNotCacheFailedResponses() {
+    ChatTokenSink recording = cache.recording(firstTurn("hello"), "hello", new RecordingSink());
+    recording.onToken("partial");
+    recording.onError(new IllegalStateException("backend down"));
+
+    assertFalse(cache.replay(firstTurn("hello"), "hello", new RecordingSink()));
+  }
+
+  @Test
+  void conversationsWithHistoryNeitherStoreNorReplayResponses() {
+    ConversationContext withHistory =
+        context(
+            "alice",
+            new Turn(MessageSender.USER, "my order is 1234"),
+            new Turn(MessageSender.BOT, "noted"),
+            new Turn(MessageSender.USER, "where is it"));
+    RecordingSink delegate = new RecordingSink();
+    ChatTokenSink recording = cache.recording(withHistory, "where is it", delegate);
+    recording.onToken("order 1234 ships today");
+    recording.onComplete();
+
+    assertFalse(cache.replay(firstTurn("where is it"), "where is it", new RecordingSink()));
+
+    cache.recording(firstTurn("where is it"), "where is it", new RecordingSink()).onComplete();
+    assertFalse(cache.replay(withHistory, "where is it", new RecordingSink()));
+    assertEquals(List.of("order 1234 ships today"), delegate.tokens);
+  }
+
+  private static ConversationContext firstTurn(String message) {
+    return context("bob", new Turn(MessageSender.USER, message));
+  }
+
+  private static ConversationContext context(String username, Turn... turns) {
+    return new ConversationContext(username, "s1", 10, List.of(turns));
+  }
+
+  private static final class RecordingSink implements ChatTokenSink {
+
+    private final List<String> tokens = new ArrayList<>();
+    private boolean completed;
+
+    @Override
+    public void onToken(CharSequence token) {
+      tokens.add(token.toString());
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+
+    @Override
+    public void onError(Throwable error) {}
+  }
+}
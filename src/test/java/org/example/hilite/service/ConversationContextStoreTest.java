@@ -0,0 +1,62 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.example.hilite.entity.ChatMessage;
+import org.example.hilite.entity.ChatMessage.MessageSender;
+import org.example.hilite.repository.ChatMessageRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+class ConversationContextStoreTest {
+
+  private final ChatMessageRepository repository = mock(ChatMessageRepository.class);
+  private final ChatHistoryWriter writer = mock(ChatHistoryWriter.class);
+  private final ConversationContextStore store =
+      new ConversationContextStore(
+          repository, writer, new SimpleMeterRegistry(), 10, 100, Duration.ofMinutes(30));
+
+  @Test
+  void sameSessionIdFromAnotherUserGetsASeparateContext() {
+    ConversationContext victim = store.context("victim", "session");
+    store.append(victim, MessageSender.BOT, "비밀 응답");
+
+    ConversationContext other = store.context("attacker", "session");
+
+    assertNotSame(victim, other);
+    assertNull(other.lastBotResponse());
+    assertEquals("비밀 응답", store.context("victim", "session").lastBotResponse());
+  }
+
+  @Test
+  void turnsAreRecordedForTheContextOwner() {
+    ConversationContext context = store.context("attacker", "session");
+
+    store.append(context, MessageSender.USER, "안녕");
+
+    verify(writer).record("session", "attacker", MessageSender.USER, "안녕");
+  }
+
+  @Test
+  void restoresOnlyTheCallersOwnHistory() {
+    ChatMessage message = new ChatMessage();
+    message.setSender(MessageSender.BOT);
+    message.setContent("이전 응답");
+    when(repository.findBySessionIdAndUsernameOrderByIdDesc(
+            eq("session"), eq("victim"), any(Pageable.class)))
+        .thenReturn(List.of(message));
+
+    assertEquals("이전 응답", store.context("victim", "session").lastBotResponse());
+    assertNull(store.context("attacker", "session").lastBotResponse());
+  }
+}
@@ -0,0 +1,98 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.example.hilite.common.event.MemberChangedEvent;
+import org.example.hilite.entity.Member;
+import org.example.hilite.entity.Role;
+import org.example.hilite.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+class CustomUserDetailsServiceTest {
+
+  private final MemberRepository memberRepository = mock(MemberRepository.class);
+  private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+  private final CustomUserDetailsService service =
+      new CustomUserDetailsService(
+          memberRepository, eventPublisher, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+
+  @Test
+  void snapshotIsCachedUntilTheMemberChanges() {
+    when(memberRepository.findByUsername("user"))
+        .thenReturn(Optional.of(member("user", "ROLE_GUEST")))
+        .thenReturn(Optional.of(member("user", "ROLE_USER")));
+    UserDetails first = service.loadUserByUsername("user");
+    assertSame(first, service.loadUserByUsername("user"));
+
+    service.onMemberChanged(new MemberChangedEvent("user"));
+
+    assertEquals("ROLE_USER", roleOf(service.loadUserByUsername("user")));
+    verify(memberRepository, times(2)).findByUsername("user");
+  }
+
+  @Test
+  void eventForAnotherMemberKeepsTheSnapshot() {
+    when(memberRepository.findByUsername("user"))
+        .thenReturn(Optional.of(member("user", "ROLE_GUEST")));
+    UserDetails first = service.loadUserByUsername("user");
+
+    service.onMemberChanged(new MemberChangedEvent("other"));
+
+    assertSame(first, service.loadUserByUsername("user"));
+  }
+
+  @Test
+  void allMembersEventDropsEverySnapshot() {
+    when(memberRepository.findByUsername("a")).thenReturn(Optional.of(member("a", "ROLE_GUEST")));
+    when(memberRepository.findByUsername("b")).thenReturn(Optional.of(member("b", "ROLE_GUEST")));
+    service.loadUserByUsername("a");
+    service.loadUserByUsername("b");
+
+    service.onMemberChanged(MemberChangedEvent.allMembers());
+    service.loadUserByUsername("a");
+    service.loadUserByUsername("b");
+
+    verify(memberRepository, times(2)).findByUsername("a");
+    verify(memberRepository, times(2)).findByUsername("b");
+  }
+
+  @Test
+  void unknownUsersAreNotCached() {
+    when(memberRepository.findByUsername("ghost"))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(member("ghost", "ROLE_GUEST")));
+
+    assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+    assertEquals("ghost", service.loadUserByUsername("ghost").getUsername());
+  }
+
+  private static Member member(String username, String roleName) {
+    Role role = new Role();
+    role.setName(roleName);
+    Member member = new Member();
+    member.setUsername(username);
+    member.setPassword("{bcrypt}hash");
+    member.addRole(role);
+    return member;
+  }
+
+  private static String roleOf(UserDetails user) {
+    return user.getAuthorities().stream()
+        .map(GrantedAuthority::getAuthority)
+        .findFirst()
+        .orElseThrow();
+  }
+}
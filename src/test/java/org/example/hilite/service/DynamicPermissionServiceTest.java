@@ -0,0 +1,140 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.example.hilite.common.event.PermissionChangedEvent;
+import org.example.hilite.entity.AccessPage;
+import org.example.hilite.entity.Role;
+import org.example.hilite.entity.RolePagePermission;
+import org.example.hilite.repository.RolePagePermissionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class DynamicPermissionServiceTest {
+
+  private final RolePagePermissionRepository repository = mock(RolePagePermissionRepository.class);
+  private final RoleService roleService = mock(RoleService.class);
+  private final DynamicPermissionService service =
+      new DynamicPermissionService(repository, roleService);
+
+  @Test
+  void snapshotIsLoadedOnceAndServedWithoutTheDatabase() {
+    when(roleService.inheritance()).thenReturn(RoleInheritance.empty());
+    when(repository.findAllWithDetails()).thenReturn(List.of(permission("ROLE_USER", "/a/**")));
+
+    assertTrue(service.hasPermission("/a/1", List.of("ROLE_USER")));
+    assertFalse(service.hasPermission("/b", List.of("ROLE_USER")));
+
+    verify(repository, times(1)).findAllWithDetails();
+  }
+
+  @Test
+  void permissionChangeReplacesTheSnapshotWithANewVersion() {
+    when(roleService.inheritance()).thenReturn(RoleInheritance.empty());
+    when(repository.findAllWithDetails())
+        .thenReturn(List.of(permission("ROLE_USER", "/a/**")))
+        .thenReturn(List.of(permission("ROLE_USER", "/b")));
+    PermissionIndex before = service.currentIndex();
+
+    service.onPermissionChanged(new PermissionChangedEvent("test"));
+
+    PermissionIndex after = service.currentIndex();
+    assertEquals(before.version() + 1, after.version());
+    assertFalse(service.hasPermission("/a/1", List.of("ROLE_USER")));
+    assertTrue(service.hasPermission("/b", List.of("ROLE_USER")));
+  }
+
+  @Test
+  void snapshotIsReloadedOnlyAfterTheChangeCommits() {
+    when(roleService.inheritance()).thenReturn(RoleInheritance.empty());
+    when(repository.findAllWithDetails()).thenReturn(List.of());
+
+    try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+      context.getBeanFactory().registerSingleton("repository", repository);
+      context.getBeanFactory().registerSingleton("roleService", roleService);
+      context.register(ListenerConfig.class);
+      context.refresh();
+      DynamicPermissionService listening = context.getBean(DynamicPermissionService.class);
+      ApplicationEventPublisher publisher = context;
+      TransactionTemplate transactionTemplate =
+          new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+      PermissionIndex initial = listening.currentIndex();
+
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            publisher.publishEvent(new PermissionChangedEvent("committed"));
+            assertSame(initial, listening.currentIndex());
+          });
+      PermissionIndex committed = listening.currentIndex();
+
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            publisher.publishEvent(new PermissionChangedEvent("rolled back"));
+            status.setRollbackOnly();
+          });
+
+      assertEquals(initial.version() + 1, committed.version());
+      assertSame(committed, listening.currentIndex());
+    }
+  }
+
+  private static RolePagePermission permission(String roleName, String path) {
+    Role role = new Role();
+    role.setName(roleName);
+    RolePagePermission permission = new RolePagePermission();
+    permission.setRole(role);
+    permission.setAccessPage(new AccessPage(path));
+    return permission;
+  }
+
+  @Configuration
+  @EnableTransactionManagement
+  static class ListenerConfig {
+
+    @Bean
+    PlatformTransactionManager transactionManager() {
+      return new NoOpTransactionManager();
+    }
+
+    @Bean
+    DynamicPermissionService dynamicPermissionService(
+        RolePagePermissionRepository repository, RoleService roleService) {
+      return new DynamicPermissionService(repository, roleService);
+    }
+  }
+
+  // 커밋과 롤백 시점의 트랜잭션 동기화만 필요하므로 실제 자원 없이 동작한다
+  private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {}
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {}
+  }
+}
@@ -0,0 +1,102 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HttpChatBackendTest {
+
+  private static final int TOKENS_PER_SECOND = 100;
+  private static final int TOKEN_COUNT = 50;
+
+  private StubChatBackendServer stub;
+  private HttpChatBackend backend;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    stub = StubChatBackendServer.start(0, TOKENS_PER_SECOND, TOKEN_COUNT);
+    URI endpoint = URI.create("http://localhost:" + stub.port() + StubChatBackendServer.PATH);
+    backend = new HttpChatBackend(endpoint, Duration.ofSeconds(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    stub.stop();
+  }
+
+  @Test
+  void forwardsTokensAsTheyArrive() {
+    RecordingSink sink = new RecordingSink(new ChatStreamSession(), -1);
+
+    long start = System.nanoTime();
+    backend.stream("hello", sink.session, sink);
+    long total = System.nanoTime() - start;
+
+    assertTrue(sink.completed);
+    assertNull(sink.error);
+    assertEquals(TOKEN_COUNT, sink.tokens.size());
+    // "data: " 뒤의 공백 하나만 지우고 토큰 안의 공백은 보존한다
+    assertEquals("token0 ", sink.tokens.get(0));
+
+    long firstToken = sink.firstTokenNanos - start;
+    // 응답 전체를 모은 뒤 넘긴다면 첫 토큰이 거의 끝에서야 도착한다
+    assertTrue(firstToken < total / 2, "first token after " + firstToken + "ns of " + total);
+  }
+
+  @Test
+  void stopsReadingWhenSessionCloses() {
+    RecordingSink sink = new RecordingSink(new ChatStreamSession(), 3);
+
+    backend.stream("hello", sink.session, sink);
+
+    assertFalse(sink.completed);
+    assertNull(sink.error);
+    assertEquals(3, sink.tokens.size());
+  }
+
+  /** 받은 토큰을 기록하고, closeAfter개를 받으면 클라이언트가 떠난 것처럼 세션을 닫는다 */
+  private static final class RecordingSink implements ChatTokenSink {
+
+    private final ChatStreamSession session;
+    private final int closeAfter;
+    private final List<String> tokens = new CopyOnWriteArrayList<>();
+    private volatile long firstTokenNanos;
+    private volatile boolean completed;
+    private volatile Throwable error;
+
+    private RecordingSink(ChatStreamSession session, int closeAfter) {
+      this.session = session;
+      this.closeAfter = closeAfter;
+    }
+
+    @Override
+    public void onToken(CharSequence token) {
+      if (tokens.isEmpty()) {
+        firstTokenNanos = System.nanoTime();
+      }
+      tokens.add(token.toString());
+      if (tokens.size() == closeAfter) {
+        session.close();
+      }
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      this.error = error;
+    }
+  }
+}
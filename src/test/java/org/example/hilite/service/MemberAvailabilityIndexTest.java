@@ -0,0 +1,77 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class MemberAvailabilityIndexTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final MemberAvailabilityIndex index =
+      new MemberAvailabilityIndex(meterRegistry, 1_000, 0.01);
+  private final CountingLookup usernames = new CountingLookup(Set.of("alice"));
+
+  @Test
+  void asksDatabaseUntilLoaded() {
+    assertFalse(index.isUsernameAvailable("alice", usernames));
+    assertTrue(index.isUsernameAvailable("bob", usernames));
+
+    assertEquals(2, usernames.calls.get());
+  }
+
+  @Test
+  void unknownValueSkipsDatabaseOnceLoaded() {
+    index.add("alice", "alice@example.com");
+    index.markLoaded(1);
+
+    assertTrue(index.isUsernameAvailable("bob", usernames));
+
+    assertEquals(0, usernames.calls.get());
+    assertEquals(1.0, lookups("username", "filtered"));
+  }
+
+  @Test
+  void probableHitIsConfirmedByDatabase() {
+    index.add("alice", "alice@example.com");
+    index.markLoaded(1);
+
+    assertFalse(index.isUsernameAvailable("alice", usernames));
+    // 대소문자만 다른 값도 필터에 걸려 DB 결과를 따른다
+    assertTrue(index.isUsernameAvailable("ALICE", usernames));
+
+    assertEquals(2, usernames.calls.get());
+    assertEquals(1.0, lookups("username", "taken"));
+    assertEquals(1.0, lookups("username", "false_positive"));
+  }
+
+  private double lookups(String field, String result) {
+    return meterRegistry
+        .get("member.availability.lookups")
+        .tag("field", field)
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  private static final class CountingLookup implements Predicate<String> {
+
+    private final Set<String> existing;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private CountingLookup(Set<String> existing) {
+      this.existing = existing;
+    }
+
+    @Override
+    public boolean test(String value) {
+      calls.incrementAndGet();
+      return existing.contains(value);
+    }
+  }
+}
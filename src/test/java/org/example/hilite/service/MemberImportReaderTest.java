@@ -0,0 +1,87 @@
+package org.example.hilite.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.example.hilite.dto.reqeust.MemberImportRequestDto;
+import org.example.hilite.service.MemberImportReader.Format;
+import org.example.hilite.service.MemberImportReader.Row;
+import org.junit.jupiter.api.Test;
+
+class MemberImportReaderTest {
+
+  private final ObjectReader jsonReader =
+      new ObjectMapper().readerFor(MemberImportRequestDto.class);
+
+  @Test
+  void readsCsvColumnsByHeaderName() throws IOException {
+    List<Row> rows =
+        readAll(
+            Format.CSV,
+            "\uFEFFemail,password,username\n"
+                + "alice@example.com,password1,alice\n"
+                + "\n"
+                + "\"bob@example.com\",\"pass,\"\"word\",bob\n");
+
+    assertEquals(2, rows.size());
+    MemberImportRequestDto alice =
+        new MemberImportRequestDto("alice", "alice@example.com", "password1");
+    assertEquals(alice, rows.get(0).request());
+    assertEquals(2, rows.get(0).line());
+    // 빈 줄도 줄 번호에 센다
+    assertEquals(4, rows.get(1).line());
+    assertEquals("pass,\"word", rows.get(1).request().password());
+  }
+
+  @Test
+  void malformedLinesBecomeErrorRows() throws IOException {
+    List<Row> rows =
+        readAll(Format.CSV, "username,email,password\nalice,alice@example.com\n\"bob,x,y\n");
+
+    assertEquals(2, rows.size());
+    assertNull(rows.get(0).request());
+    assertEquals("CSV 형식이 올바르지 않습니다.", rows.get(0).error());
+    assertEquals("CSV 형식이 올바르지 않습니다.", rows.get(1).error());
+  }
+
+  @Test
+  void rejectsCsvWithoutRequiredColumns() {
+    assertThrows(
+        IllegalArgumentException.class, () -> readAll(Format.CSV, "username,email\nalice,a@b.c\n"));
+  }
+
+  @Test
+  void readsNdjsonAndReportsBrokenLines() throws IOException {
+    List<Row> rows =
+        readAll(
+            Format.NDJSON,
+            "{\"username\":\"alice\",\"email\":\"alice@example.com\",\"password\":\"password1\"}\n"
+                + "{\"username\":\n"
+                + "null\n");
+
+    assertEquals(3, rows.size());
+    assertEquals("alice", rows.get(0).request().username());
+    assertEquals("JSON 형식이 올바르지 않습니다.", rows.get(1).error());
+    assertEquals("JSON 형식이 올바르지 않습니다.", rows.get(2).error());
+  }
+
+  private List<Row> readAll(Format format, String body) throws IOException {
+    List<Row> rows = new ArrayList<>();
+    ByteArrayInputStream in = new ByteArrayInputStream(body.getBytes(UTF_8));
+    try (MemberImportReader reader = MemberImportReader.open(in, format, jsonReader)) {
+      Row row;
+      while ((row = reader.next()) != null) {
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,118 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.example.hilite.dto.response.MemberPageResponseDto;
+import org.example.hilite.dto.response.MemberResponseDto;
+import org.example.hilite.repository.MemberKeys;
+import org.example.hilite.repository.MemberListRow;
+import org.example.hilite.repository.MemberRepository;
+import org.example.hilite.repository.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class MemberServiceTest {
+
+  private final MemberRepository memberRepository = mock(MemberRepository.class);
+  private final MemberAvailabilityIndex availabilityIndex = mock(MemberAvailabilityIndex.class);
+  private final MemberService memberService =
+      new MemberService(
+          memberRepository,
+          mock(RoleRepository.class),
+          mock(PasswordEncoder.class),
+          mock(ApplicationEventPublisher.class),
+          new ObjectMapper(),
+          availabilityIndex);
+
+  @Test
+  void fullPageReturnsTheLastIdAsTheNextCursor() {
+    when(memberRepository.findListRowsAfter(eq(10L), eq(PageRequest.ofSize(2))))
+        .thenReturn(
+            List.of(
+                new MemberListRow(11L, "a", "a@example.com", "ROLE_USER"),
+                new MemberListRow(15L, "b", "b@example.com", "ROLE_USER")));
+
+    MemberPageResponseDto page = memberService.getMembers(10, 2);
+
+    assertEquals(List.of(11L, 15L), page.members().stream().map(MemberResponseDto::id).toList());
+    assertEquals(15L, page.nextCursor());
+  }
+
+  @Test
+  void shortPageIsTheLastPage() {
+    when(memberRepository.findListRowsAfter(eq(15L), eq(PageRequest.ofSize(2))))
+        .thenReturn(List.of(new MemberListRow(20L, "c", "c@example.com", "ROLE_USER")));
+
+    assertNull(memberService.getMembers(15, 2).nextCursor());
+  }
+
+  @Test
+  void aggregatedRoleNamesAreSplitIntoAList() {
+    when(memberRepository.findListRowsAfter(eq(0L), eq(PageRequest.ofSize(3))))
+        .thenReturn(
+            List.of(
+                new MemberListRow(1L, "admin", "admin@example.com", "ROLE_ADMIN,ROLE_USER"),
+                new MemberListRow(2L, "empty", "empty@example.com", ""),
+                new MemberListRow(3L, "none", "none@example.com", null)));
+
+    List<MemberResponseDto> members = memberService.getMembers(0, 3).members();
+
+    assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), members.get(0).roles());
+    assertEquals(List.of(), members.get(1).roles());
+    assertEquals(List.of(), members.get(2).roles());
+  }
+
+  @Test
+  void availabilityIndexIsFilledFromKeysetBatches() {
+    when(memberRepository.findKeysAfter(eq(0L), any(Pageable.class)))
+        .thenReturn(List.of(new MemberKeys(3L, "a", "a@example.com")));
+
+    memberService.loadAvailabilityIndex();
+
+    verify(availabilityIndex).add("a", "a@example.com");
+    verify(availabilityIndex).markLoaded(1);
+  }
+
+  @Test
+  void failedIndexLoadLeavesTheIndexUnloadedInsteadOfFailingStartup() {
+    when(memberRepository.findKeysAfter(anyLong(), any(Pageable.class)))
+        .thenThrow(new DataAccessResourceFailureException("down"));
+
+    memberService.loadAvailabilityIndex();
+
+    verify(availabilityIndex, never()).markLoaded(anyLong());
+  }
+
+  @Test
+  void exportWritesOneJsonLinePerMember() throws Exception {
+    when(memberRepository.findListRowsAfter(eq(0L), any(Pageable.class)))
+        .thenReturn(
+            List.of(
+                new MemberListRow(1L, "a", "a@example.com", "ROLE_USER"),
+                new MemberListRow(2L, "b", "b@example.com", null)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    memberService.exportMembers(out);
+
+    assertEquals(
+        "{\"id\":1,\"username\":\"a\",\"email\":\"a@example.com\",\"roles\":[\"ROLE_USER\"]}\n"
+            + "{\"id\":2,\"username\":\"b\",\"email\":\"b@example.com\",\"roles\":[]}\n",
+        out.toString(StandardCharsets.UTF_8));
+  }
+}
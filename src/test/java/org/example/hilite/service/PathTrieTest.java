@@ -0,0 +1,83 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PathTrieTest {
+
+  private final PathTrie trie =
+      PathTrie.builder()
+          .add("/admin/**", "ROLE_ADMIN")
+          .add("/play/*", "ROLE_GUEST")
+          .add("/member/info", "ROLE_USER")
+          .build();
+
+  @Test
+  void anyDepthPatternMatchesPrefixAndDescendants() {
+    long[] admin = trie.roleMask(List.of("ROLE_ADMIN"));
+
+    assertTrue(trie.matches("/admin", admin));
+    assertTrue(trie.matches("/admin/member/list", admin));
+    assertFalse(trie.matches("/administrator", admin));
+  }
+
+  @Test
+  void singleDepthPatternMatchesExactlyOneSegment() {
+    long[] guest = trie.roleMask(List.of("ROLE_GUEST"));
+
+    assertTrue(trie.matches("/play/1", guest));
+    assertFalse(trie.matches("/play", guest));
+    assertFalse(trie.matches("/play/1/detail", guest));
+  }
+
+  @Test
+  void exactPatternMatchesOnlyThatPath() {
+    long[] user = trie.roleMask(List.of("ROLE_USER"));
+
+    assertTrue(trie.matches("/member/info", user));
+    assertFalse(trie.matches("/member/info/extra", user));
+    assertFalse(trie.matches("/admin/member/list", user));
+  }
+
+  @Test
+  void slashesAreMatchedExactly() {
+    long[] user = trie.roleMask(List.of("ROLE_USER"));
+    long[] guest = trie.roleMask(List.of("ROLE_GUEST"));
+    long[] admin = trie.roleMask(List.of("ROLE_ADMIN"));
+
+    assertFalse(trie.matches("/member/info/", user));
+    assertFalse(trie.matches("//member/info", user));
+    assertFalse(trie.matches("/member//info", user));
+    assertFalse(trie.matches("member/info", user));
+    assertFalse(trie.matches("/play/", guest));
+    assertFalse(trie.matches("//admin", admin));
+    assertTrue(trie.matches("/admin/", admin));
+  }
+
+  @Test
+  void rootPatternMatchesOnlyTheRoot() {
+    PathTrie rootOnly = PathTrie.builder().add("/", "ROLE_GUEST").build();
+    long[] guest = rootOnly.roleMask(List.of("ROLE_GUEST"));
+
+    assertTrue(rootOnly.matches("/", guest));
+    assertFalse(rootOnly.matches("//", guest));
+    assertFalse(rootOnly.matches("/play", guest));
+  }
+
+  @Test
+  void sameRolesReuseOneMask() {
+    assertSame(
+        trie.roleMask(List.of("ROLE_ADMIN", "ROLE_USER")),
+        trie.roleMask(List.of("ROLE_ADMIN", "ROLE_USER")));
+  }
+
+  @Test
+  void unknownRolesHaveNoMask() {
+    assertNull(trie.roleMask(List.of("ROLE_UNKNOWN")));
+  }
+}
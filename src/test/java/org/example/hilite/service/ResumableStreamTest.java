@@ -0,0 +1,143 @@
+package org.example.hilite.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class ResumableStreamTest {
+
+  private static final Pattern CHUNK = Pattern.compile("\"chunk\":\"(.*?)\",\"sessionId\"");
+
+  private final SseDelivery delivery =
+      new SseDelivery(new SimpleMeterRegistry(), 32, 65536, SlowConsumerPolicy.COALESCE);
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final ChatStreamSession generation = new ChatStreamSession();
+
+  @AfterEach
+  void tearDown() {
+    delivery.shutdown();
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  void reconnectResumesAfterLastEventIdWithoutRegenerating() throws Exception {
+    ResumableStream stream = newStream(60_000, 256, 16_384);
+    RecordingEmitter first = new RecordingEmitter();
+    SseDelivery.Outbound firstConnection = delivery.open(first, stream.id(), "s1");
+    stream.attach(firstConnection, -1);
+
+    stream.append("a");
+    stream.append("b");
+    stream.append("c");
+    first.awaitText("abc");
+    // 클라이언트는 b까지만 받고 연결이 끊겼다
+    firstConnection.close();
+    stream.append("d");
+
+    RecordingEmitter second = new RecordingEmitter();
+    assertTrue(stream.attach(delivery.open(second, stream.id(), "s1"), 1));
+    stream.complete();
+
+    second.awaitComplete();
+    assertEquals("cd", second.text());
+    assertTrue(second.frames.getLast().contains("\"type\":\"complete\""));
+    assertFalse(generation.isClosed());
+  }
+
+  @Test
+  void cannotResumeOnceChunksAreEvicted() {
+    ResumableStream stream = newStream(60_000, 2, 16_384);
+    for (String chunk : List.of("a", "b", "c", "d")) {
+      stream.append(chunk);
+    }
+
+    assertFalse(stream.canResumeAfter(0));
+    assertTrue(stream.canResumeAfter(1));
+  }
+
+  @Test
+  void capsRetainedCharacters() {
+    ResumableStream stream = newStream(60_000, 256, 4);
+    stream.append("ab");
+    stream.append("cd");
+    stream.append("ef");
+
+    // "ab"가 밀려나 처음부터는 받을 수 없다
+    assertFalse(stream.canResumeAfter(-1));
+    assertTrue(stream.canResumeAfter(0));
+  }
+
+  @Test
+  void stopsGenerationWhenNoClientReconnectsWithinGrace() throws Exception {
+    ResumableStream stream = newStream(50, 256, 16_384);
+    SseDelivery.Outbound connection = delivery.open(new RecordingEmitter(), stream.id(), "s1");
+    stream.attach(connection, -1);
+    CountDownLatch closed = new CountDownLatch(1);
+    generation.onClose(closed::countDown);
+
+    connection.close();
+
+    assertTrue(closed.await(5, TimeUnit.SECONDS));
+    assertFalse(stream.canResumeAfter(-1));
+  }
+
+  private ResumableStream newStream(long graceMillis, int maxChunks, int maxChars) {
+    return new ResumableStream(
+        "stream", "user", generation, scheduler, graceMillis, maxChunks, maxChars);
+  }
+
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+    private final CountDownLatch complete = new CountDownLatch(1);
+
+    @Override
+    public void send(Set<DataWithMediaType> items) {
+      for (DataWithMediaType item : items) {
+        String frame = new String((byte[]) item.getData(), UTF_8);
+        frames.add(frame);
+        if (frame.contains("\"type\":\"complete\"")) {
+          complete.countDown();
+        }
+      }
+    }
+
+    void awaitComplete() throws InterruptedException {
+      assertTrue(complete.await(5, TimeUnit.SECONDS));
+    }
+
+    void awaitText(String expected) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (!text().equals(expected) && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(expected, text());
+    }
+
+    String text() {
+      StringBuilder text = new StringBuilder();
+      for (String frame : frames) {
+        Matcher matcher = CHUNK.matcher(frame);
+        if (matcher.find()) {
+          text.append(matcher.group(1));
+        }
+      }
+      return text.toString();
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.example.hilite.entity.AccessPage;
+import org.example.hilite.entity.Role;
+import org.example.hilite.entity.RolePagePermission;
+import org.junit.jupiter.api.Test;
+
+class RoleInheritanceTest {
+
+  // ADMIN -> USER -> GUEST, AUDITOR -> GUEST
+  private final RoleInheritance inheritance =
+      RoleInheritance.of(
+          Map.of(
+              "ROLE_ADMIN", List.of("ROLE_USER"),
+              "ROLE_USER", List.of("ROLE_GUEST"),
+              "ROLE_AUDITOR", List.of("ROLE_GUEST")));
+
+  @Test
+  void closureContainsTransitiveAncestorsAndDescendants() {
+    assertEquals(Set.of("ROLE_USER", "ROLE_GUEST"), inheritance.ancestorsOf("ROLE_ADMIN"));
+    assertEquals(
+        Set.of("ROLE_ADMIN", "ROLE_USER", "ROLE_AUDITOR"), inheritance.descendantsOf("ROLE_GUEST"));
+    assertTrue(inheritance.ancestorsOf("ROLE_GUEST").isEmpty());
+  }
+
+  @Test
+  void cyclesAreRejected() {
+    assertTrue(inheritance.createsCycle("ROLE_GUEST", "ROLE_ADMIN"));
+    assertTrue(inheritance.createsCycle("ROLE_USER", "ROLE_USER"));
+    assertFalse(inheritance.createsCycle("ROLE_AUDITOR", "ROLE_USER"));
+    assertThrows(
+        IllegalArgumentException.class, () -> inheritance.withParent("ROLE_GUEST", "ROLE_ADMIN"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> RoleInheritance.of(Map.of("A", List.of("B"), "B", List.of("C"), "C", List.of("A"))));
+  }
+
+  @Test
+  void removingAParentKeepsAncestorsReachableThroughAnotherPath() {
+    RoleInheritance updated =
+        inheritance
+            .withParent("ROLE_ADMIN", "ROLE_AUDITOR")
+            .withoutParent("ROLE_USER", "ROLE_GUEST");
+
+    assertEquals(
+        Set.of("ROLE_USER", "ROLE_AUDITOR", "ROLE_GUEST"), updated.ancestorsOf("ROLE_ADMIN"));
+    assertTrue(updated.ancestorsOf("ROLE_USER").isEmpty());
+    assertEquals(Set.of("ROLE_ADMIN", "ROLE_AUDITOR"), updated.descendantsOf("ROLE_GUEST"));
+  }
+
+  @Test
+  void removingARoleDropsWhatItsChildrenInheritedThroughIt() {
+    RoleInheritance updated = inheritance.withoutRole("ROLE_USER");
+
+    assertTrue(updated.ancestorsOf("ROLE_ADMIN").isEmpty());
+    assertEquals(Set.of("ROLE_AUDITOR"), updated.descendantsOf("ROLE_GUEST"));
+  }
+
+  @Test
+  void incrementalUpdatesMatchAFullRecomputation() {
+    Random random = new Random(42);
+    List<String> roles = new ArrayList<>();
+    for (int i = 0; i < 40; i++) {
+      roles.add("ROLE_" + i);
+    }
+    Map<String, Set<String>> edges = new HashMap<>();
+    RoleInheritance incremental = RoleInheritance.empty();
+
+    for (int step = 0; step < 2_000; step++) {
+      String child = roles.get(random.nextInt(roles.size()));
+      String parent = roles.get(random.nextInt(roles.size()));
+      if (random.nextInt(3) == 0) {
+        incremental = incremental.withoutParent(child, parent);
+        edges.getOrDefault(child, new HashSet<>()).remove(parent);
+      } else if (!incremental.createsCycle(child, parent)) {
+        incremental = incremental.withParent(child, parent);
+        edges.computeIfAbsent(child, key -> new HashSet<>()).add(parent);
+      }
+    }
+
+    RoleInheritance full = RoleInheritance.of(edges);
+    for (String role : roles) {
+      assertEquals(full.ancestorsOf(role), incremental.ancestorsOf(role), role);
+      assertEquals(full.descendantsOf(role), incremental.descendantsOf(role), role);
+    }
+  }
+
+  @Test
+  void permissionIndexGrantsInheritedPathsToHeirs() {
+    PermissionIndex index =
+        PermissionIndex.of(
+            1,
+            List.of(permission("ROLE_GUEST", "/play/**"), permission("ROLE_ADMIN", "/admin/**")),
+            inheritance);
+
+    assertTrue(index.hasPermission("/play/1", List.of("ROLE_ADMIN")));
+    assertTrue(index.hasPermission("/play/1", List.of("ROLE_AUDITOR")));
+    assertFalse(index.hasPermission("/admin/roles", List.of("ROLE_USER")));
+  }
+
+  private static RolePagePermission permission(String roleName, String path) {
+    Role role = new Role();
+    role.setName(roleName);
+    RolePagePermission permission = new RolePagePermission();
+    permission.setRole(role);
+    permission.setAccessPage(new AccessPage(path));
+    return permission;
+  }
+}
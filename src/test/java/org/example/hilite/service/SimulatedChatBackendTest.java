@@ -0,0 +1,56 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SimulatedChatBackendTest {
+
+  private final SimulatedChatBackend backend = new SimulatedChatBackend(1, 1);
+
+  @AfterEach
+  void tearDown() {
+    backend.shutdown();
+  }
+
+  @Test
+  void throwingSinkGetsTheErrorAndClosesTheSession() throws Exception {
+    ChatStreamSession session = new ChatStreamSession();
+    CountDownLatch closed = new CountDownLatch(1);
+    session.onClose(closed::countDown);
+    AtomicInteger tokens = new AtomicInteger();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    IllegalStateException failure = new IllegalStateException("history store down");
+
+    backend.stream(
+        "hello",
+        session,
+        new ChatTokenSink() {
+          @Override
+          public void onToken(CharSequence token) {
+            tokens.incrementAndGet();
+            throw failure;
+          }
+
+          @Override
+          public void onComplete() {}
+
+          @Override
+          public void onError(Throwable e) {
+            error.set(e);
+          }
+        });
+
+    assertTrue(closed.await(5, TimeUnit.SECONDS));
+    assertEquals(failure, error.get());
+    // 세션이 닫혀 예약된 전송도 멈춘다
+    Thread.sleep(50);
+    assertEquals(1, tokens.get());
+  }
+}
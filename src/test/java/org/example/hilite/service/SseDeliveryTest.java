@@ -0,0 +1,161 @@
+package org.example.hilite.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class SseDeliveryTest {
+
+  private static final Pattern CHUNK = Pattern.compile("\"chunk\":\"(.*?)\",\"sessionId\"");
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private SseDelivery delivery;
+
+  @AfterEach
+  void tearDown() {
+    delivery.shutdown();
+  }
+
+  @Test
+  void coalescesChunksQueuedWhileClientIsBlocked() throws Exception {
+    delivery = new SseDelivery(meterRegistry, 2, 65536, SlowConsumerPolicy.COALESCE);
+    BlockingEmitter emitter = new BlockingEmitter();
+    SseDelivery.Outbound outbound = delivery.open(emitter, "stream", "s1");
+
+    outbound.offer(0, "a");
+    emitter.awaitFirstSend();
+    long seq = 1;
+    for (String chunk : List.of("b", "c", "d", "e")) {
+      assertTrue(outbound.offer(seq++, chunk));
+    }
+    outbound.complete();
+    emitter.release();
+
+    emitter.awaitComplete();
+    assertEquals(List.of("a", "bcde", ""), emitter.chunks());
+    // 합친 프레임의 id는 마지막 청크의 순번이다
+    assertTrue(emitter.frames.get(1).startsWith("id:stream-4\n"));
+    assertEquals(3, meterRegistry.counter("chat.stream.coalesced").count());
+  }
+
+  @Test
+  void dropsChunksWhenBufferIsFull() throws Exception {
+    delivery = new SseDelivery(meterRegistry, 2, 65536, SlowConsumerPolicy.DROP);
+    BlockingEmitter emitter = new BlockingEmitter();
+    SseDelivery.Outbound outbound = delivery.open(emitter, "stream", "s1");
+
+    outbound.offer(0, "a");
+    emitter.awaitFirstSend();
+    assertTrue(outbound.offer(1, "b"));
+    assertTrue(outbound.offer(2, "c"));
+    assertFalse(outbound.offer(3, "d"));
+    outbound.complete();
+    emitter.release();
+
+    emitter.awaitComplete();
+    assertEquals(List.of("a", "bc", ""), emitter.chunks());
+    assertEquals(1, meterRegistry.counter("chat.stream.overflow", "policy", "drop").count());
+  }
+
+  @Test
+  void disconnectsSlowClient() throws Exception {
+    delivery = new SseDelivery(meterRegistry, 2, 65536, SlowConsumerPolicy.DISCONNECT);
+    BlockingEmitter emitter = new BlockingEmitter();
+    SseDelivery.Outbound outbound = delivery.open(emitter, "stream", "s1");
+    CountDownLatch disconnected = new CountDownLatch(1);
+    outbound.onDisconnect(disconnected::countDown);
+
+    outbound.offer(0, "a");
+    emitter.awaitFirstSend();
+    outbound.offer(1, "b");
+    outbound.offer(2, "c");
+
+    assertFalse(outbound.offer(3, "d"));
+    assertTrue(disconnected.await(5, TimeUnit.SECONDS));
+    assertFalse(outbound.offer(4, "e"));
+    emitter.release();
+  }
+
+  @Test
+  void disconnectsCoalescingClientOnceTextLimitIsReached() throws Exception {
+    delivery = new SseDelivery(meterRegistry, 2, 4, SlowConsumerPolicy.COALESCE);
+    BlockingEmitter emitter = new BlockingEmitter();
+    SseDelivery.Outbound outbound = delivery.open(emitter, "stream", "s1");
+    CountDownLatch disconnected = new CountDownLatch(1);
+    outbound.onDisconnect(disconnected::countDown);
+
+    outbound.offer(0, "a");
+    emitter.awaitFirstSend();
+    assertTrue(outbound.offer(1, "bb"));
+    assertTrue(outbound.offer(2, "c"));
+    assertTrue(outbound.offer(3, "d"));
+
+    assertFalse(outbound.offer(4, "e"));
+    assertTrue(disconnected.await(5, TimeUnit.SECONDS));
+    emitter.release();
+  }
+
+  /** release() 전까지 전송이 막혀 있는, 읽지 않는 클라이언트 */
+  private static final class BlockingEmitter extends SseEmitter {
+
+    private final CountDownLatch firstSend = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private final CountDownLatch complete = new CountDownLatch(1);
+    private final List<String> frames = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void send(Set<DataWithMediaType> items) throws IOException {
+      firstSend.countDown();
+      try {
+        gate.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+      for (DataWithMediaType item : items) {
+        String frame = new String((byte[]) item.getData(), UTF_8);
+        frames.add(frame);
+        if (frame.contains("\"type\":\"complete\"")) {
+          complete.countDown();
+        }
+      }
+    }
+
+    void awaitFirstSend() throws InterruptedException {
+      assertTrue(firstSend.await(5, TimeUnit.SECONDS));
+    }
+
+    void awaitComplete() throws InterruptedException {
+      assertTrue(complete.await(5, TimeUnit.SECONDS));
+    }
+
+    void release() {
+      gate.countDown();
+    }
+
+    List<String> chunks() {
+      return frames.stream()
+          .map(
+              frame -> {
+                Matcher matcher = CHUNK.matcher(frame);
+                assertTrue(matcher.find(), frame);
+                return matcher.group(1);
+              })
+          .toList();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package org.example.hilite.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.hilite.dto.reqeust.StreamingChatResponseDto;
+import org.junit.jupiter.api.Test;
+
+class SseFrameEncoderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void matchesJacksonSerializedEvent() throws Exception {
+    SseFrameEncoder encoder = new SseFrameEncoder("stream", "session-\"1\"");
+
+    long seq = 0;
+    for (String chunk : new String[] {"안녕하세요", "탭\t줄바꿈\n\"따옴표\" \\ 😀", "\u0001"}) {
+      assertEquals(
+          "id:stream-" + seq + "\n" + expected(chunk, "session-\"1\"", false),
+          encode(encoder, seq, chunk, false));
+      seq += 9;
+    }
+    assertEquals(expected("", "session-\"1\"", true), encode(encoder, -1, "", true));
+  }
+
+  @Test
+  void writesNullSessionId() throws Exception {
+    assertEquals(
+        "id:stream-42\n" + expected("hi", null, false),
+        encode(new SseFrameEncoder("stream", null), 42, "hi", false));
+  }
+
+  private static String encode(
+      SseFrameEncoder encoder, long seq, CharSequence chunk, boolean complete) {
+    return new String(encoder.encode(seq, chunk, complete), UTF_8);
+  }
+
+  // 기존 SseEmitter.event().name("message").data(dto) 전송 결과
+  private String expected(String chunk, String sessionId, boolean complete) throws Exception {
+    StreamingChatResponseDto dto =
+        StreamingChatResponseDto.builder()
+            .chunk(chunk)
+            .sessionId(sessionId)
+            .isComplete(complete)
+            .type(complete ? "complete" : "text")
+            .build();
+    return "event:message\ndata:" + objectMapper.writeValueAsString(dto) + "\n\n";
+  }
+}
@@ -0,0 +1,76 @@
+package org.example.hilite.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link HttpChatBackend}를 오프라인에서 측정하기 위한 로컬 AI 서버 대역.
+ *
+ * <p>요청마다 {@code data: <token>} 줄을 지정한 속도로 보내고 {@code data: [DONE]}으로 끝낸다.
+ *
+ * <p>단독으로 쓰려면 main을 실행한 뒤 애플리케이션을 hilite.chat.backend.type=http 로 띄운다. 기본 URL이 이 서버를 가리킨다.
+ */
+public final class StubChatBackendServer {
+
+  static final String PATH = "/v1/chat/stream";
+
+  private final HttpServer server;
+
+  private StubChatBackendServer(HttpServer server) {
+    this.server = server;
+  }
+
+  /** port가 0이면 빈 포트를 고른다 */
+  public static StubChatBackendServer start(int port, int tokensPerSecond, int tokenCount)
+      throws IOException {
+    HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+    long intervalNanos = 1_000_000_000L / tokensPerSecond;
+    server.createContext(PATH, exchange -> streamTokens(exchange, intervalNanos, tokenCount));
+    server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    server.start();
+    return new StubChatBackendServer(server);
+  }
+
+  public int port() {
+    return server.getAddress().getPort();
+  }
+
+  public void stop() {
+    server.stop(0);
+  }
+
+  private static void streamTokens(HttpExchange exchange, long intervalNanos, int tokenCount)
+      throws IOException {
+    exchange.getRequestBody().readAllBytes();
+    exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+    // 길이 0은 chunked 전송을 뜻한다
+    exchange.sendResponseHeaders(200, 0);
+    try (OutputStream body = exchange.getResponseBody()) {
+      for (int i = 0; i < tokenCount; i++) {
+        LockSupport.parkNanos(intervalNanos);
+        body.write(("data: token" + i + " \n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+      }
+      body.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      // 클라이언트가 먼저 끊은 경우
+    }
+  }
+
+  /** 사용법: StubChatBackendServer [port] [tokensPerSecond] [tokenCount] */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 8090;
+    int tokensPerSecond = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+    int tokenCount = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+    StubChatBackendServer stub = start(port, tokensPerSecond, tokenCount);
+    System.out.printf(
+        "Stub chat backend on http://localhost:%d%s (%d tokens/s, %d tokens)%n",
+        stub.port(), PATH, tokensPerSecond, tokenCount);
+  }
+}
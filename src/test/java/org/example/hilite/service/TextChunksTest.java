@@ -0,0 +1,51 @@
+package org.example.hilite.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TextChunksTest {
+
+  @Test
+  void splitsIntoChunksOfAtMostMaxChars() {
+    assertEquals(List.of("안녕하세", "요. 반", "갑습니다"), split("안녕하세요. 반갑습니다", 4));
+  }
+
+  @Test
+  void neverSplitsSurrogatePairs() {
+    // 😀는 서로게이트 쌍 두 글자다
+    List<String> chunks = split("가😀나😀다", 2);
+
+    assertEquals(List.of("가", "😀", "나", "😀", "다"), chunks);
+  }
+
+  @Test
+  void keepsCombiningSequencesTogether() {
+    // 조합형 한글(ᄀ + ᅡ + ᆨ)과 결합 악센트(e + U+0301)는 각각 하나의 클러스터다
+    String jamo = "\u1100\u1161\u11a8";
+    String accent = "e\u0301";
+    String text = "가" + jamo + accent + "끝";
+
+    for (int maxChars = 1; maxChars <= text.length(); maxChars++) {
+      List<String> chunks = split(text, maxChars);
+
+      assertEquals(text, String.join("", chunks));
+      for (String chunk : chunks) {
+        assertTrue(
+            !chunk.startsWith("\u1161")
+                && !chunk.startsWith("\u11a8")
+                && !chunk.startsWith("\u0301"),
+            () -> "cluster split: " + chunks);
+      }
+    }
+  }
+
+  private static List<String> split(String text, int maxChars) {
+    List<String> chunks = new ArrayList<>();
+    TextChunks.of(text, maxChars).forEachRemaining(chunk -> chunks.add(chunk.toString()));
+    return chunks;
+  }
+}